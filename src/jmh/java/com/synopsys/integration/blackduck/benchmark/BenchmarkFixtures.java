@@ -0,0 +1,85 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Builds realistically sized payloads from the recorded fixtures in src/jmh/resources/fixtures. Every occurrence of ITEM_INDEX in a fixture is
+ * replaced with the index of the item so that the hrefs differ the way they do on a real server.
+ */
+public class BenchmarkFixtures {
+    public static final String BOM_COMPONENT_FIXTURE = "/fixtures/bom-component.json";
+    public static final String RULE_VIOLATION_NOTIFICATION_FIXTURE = "/fixtures/rule-violation-notification.json";
+
+    private static final String ITEM_INDEX_TOKEN = "ITEM_INDEX";
+
+    public static String readFixture(final String resourceName) {
+        try (final InputStream inputStream = BenchmarkFixtures.class.getResourceAsStream(resourceName)) {
+            return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            throw new IllegalStateException("Could not read the fixture " + resourceName, e);
+        }
+    }
+
+    public static String createItem(final String fixture, final int index) {
+        return fixture.replace(ITEM_INDEX_TOKEN, String.valueOf(index));
+    }
+
+    public static String createPage(final String fixture, final int totalCount, final int offset, final int limit) {
+        final StringBuilder page = new StringBuilder();
+        page.append("{\"totalCount\":").append(totalCount).append(",\"items\":[");
+        final int end = Math.min(offset + limit, totalCount);
+        for (int i = offset; i < end; i++) {
+            if (i > offset) {
+                page.append(',');
+            }
+            page.append(createItem(fixture, i));
+        }
+        page.append("],\"_meta\":{\"allow\":[\"GET\"],\"links\":[]}}");
+        return page.toString();
+    }
+
+    /**
+     * A view with linkCount links, where only the last link has the rel 'target'.
+     */
+    public static String createViewWithLinks(final int linkCount) {
+        final StringBuilder view = new StringBuilder();
+        view.append("{\"name\":\"many-links\",\"_meta\":{\"allow\":[\"GET\"],\"href\":\"https://hub-server.com/api/projects/1\",\"links\":[");
+        for (int i = 0; i < linkCount; i++) {
+            if (i > 0) {
+                view.append(',');
+            }
+            final String rel = (i == linkCount - 1) ? "target" : "rel" + i;
+            view.append("{\"rel\":\"").append(rel).append("\",\"href\":\"https://hub-server.com/api/projects/1/").append(rel).append("\"}");
+        }
+        view.append("]}}");
+        return view.toString();
+    }
+
+}
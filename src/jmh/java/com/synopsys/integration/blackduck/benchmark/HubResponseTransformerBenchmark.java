@@ -0,0 +1,81 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.synopsys.integration.blackduck.api.generated.view.VersionBomComponentView;
+import com.synopsys.integration.blackduck.exception.HubIntegrationException;
+import com.synopsys.integration.blackduck.service.HubResponseTransformer;
+import com.synopsys.integration.blackduck.service.HubServicesFactory;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HubResponseTransformerBenchmark {
+    private HubResponseTransformer hubResponseTransformer;
+    private String bomComponentJson;
+    private JsonElement bomComponentElement;
+
+    @Setup
+    public void setup() throws Exception {
+        final StubBlackDuckRestConnection restConnection = new StubBlackDuckRestConnection(BenchmarkFixtures.readFixture(BenchmarkFixtures.BOM_COMPONENT_FIXTURE), 1);
+        final Gson gson = HubServicesFactory.createDefaultGson();
+        final JsonParser jsonParser = HubServicesFactory.createDefaultJsonParser();
+        hubResponseTransformer = new HubResponseTransformer(restConnection, gson, new PrintStreamIntLogger(System.out, LogLevel.WARN));
+
+        bomComponentJson = BenchmarkFixtures.createItem(BenchmarkFixtures.readFixture(BenchmarkFixtures.BOM_COMPONENT_FIXTURE), 0);
+        bomComponentElement = jsonParser.parse(bomComponentJson);
+    }
+
+    @Benchmark
+    public VersionBomComponentView getResponseAsFromJsonElement() {
+        return hubResponseTransformer.getResponseAs(bomComponentElement, VersionBomComponentView.class);
+    }
+
+    @Benchmark
+    public VersionBomComponentView getResponseAsFromString() throws HubIntegrationException {
+        return hubResponseTransformer.getResponseAs(bomComponentJson, VersionBomComponentView.class);
+    }
+
+}
@@ -0,0 +1,98 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.blackduck.api.generated.view.VersionBomComponentView;
+import com.synopsys.integration.blackduck.service.HubResponseTransformer;
+import com.synopsys.integration.blackduck.service.HubResponsesTransformer;
+import com.synopsys.integration.blackduck.service.HubServicesFactory;
+import com.synopsys.integration.blackduck.service.model.PagedRequest;
+import com.synopsys.integration.blackduck.service.model.RequestFactory;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HubResponsesTransformerBenchmark {
+    private static final String BOM_COMPONENTS_URI = "https://hub-server.com/api/projects/1/versions/1/components";
+
+    @Param({ "100", "1000", "50000" })
+    public int itemCount;
+
+    private HubResponsesTransformer hubResponsesTransformer;
+
+    @Setup
+    public void setup() throws Exception {
+        final StubBlackDuckRestConnection restConnection = new StubBlackDuckRestConnection(BenchmarkFixtures.readFixture(BenchmarkFixtures.BOM_COMPONENT_FIXTURE), itemCount);
+        final PrintStreamIntLogger logger = new PrintStreamIntLogger(System.out, LogLevel.WARN);
+        final Gson gson = HubServicesFactory.createDefaultGson();
+        final HubResponseTransformer hubResponseTransformer = new HubResponseTransformer(restConnection, gson, logger);
+        hubResponsesTransformer = new HubResponsesTransformer(restConnection, hubResponseTransformer, logger);
+
+        // create the canned response of every page once so the measurements only include the client side
+        getAllResponses();
+    }
+
+    @Benchmark
+    public List<VersionBomComponentView> getAllResponses() throws IntegrationException {
+        return hubResponsesTransformer.getResponses(createPagedRequest(), VersionBomComponentView.class, true, null);
+    }
+
+    @Benchmark
+    public List<VersionBomComponentView> getAllResponsesConcurrently() throws IntegrationException {
+        return hubResponsesTransformer.getAllResponsesConcurrently(createPagedRequest(), VersionBomComponentView.class, null, 8);
+    }
+
+    @Benchmark
+    public void streamResponses(final Blackhole blackhole) {
+        hubResponsesTransformer.streamResponses(createPagedRequest(), VersionBomComponentView.class, null).forEach(blackhole::consume);
+    }
+
+    private PagedRequest createPagedRequest() {
+        return new PagedRequest(RequestFactory.createCommonGetRequestBuilder(BOM_COMPONENTS_URI));
+    }
+
+}
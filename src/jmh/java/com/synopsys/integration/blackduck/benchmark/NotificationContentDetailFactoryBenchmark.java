@@ -0,0 +1,94 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.blackduck.api.generated.view.NotificationView;
+import com.synopsys.integration.blackduck.notification.CommonNotificationView;
+import com.synopsys.integration.blackduck.notification.content.detail.NotificationContentDetailFactory;
+import com.synopsys.integration.blackduck.service.HubServicesFactory;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NotificationContentDetailFactoryBenchmark {
+    @Param({ "100", "1000", "50000" })
+    public int notificationCount;
+
+    private NotificationContentDetailFactory notificationContentDetailFactory;
+    private List<CommonNotificationView> commonNotificationViews;
+    private List<CommonNotificationView> commonNotificationViewsWithContent;
+
+    @Setup
+    public void setup() {
+        final Gson gson = HubServicesFactory.createDefaultGson();
+        notificationContentDetailFactory = new NotificationContentDetailFactory(gson);
+
+        final String fixture = BenchmarkFixtures.readFixture(BenchmarkFixtures.RULE_VIOLATION_NOTIFICATION_FIXTURE);
+        commonNotificationViews = new ArrayList<>(notificationCount);
+        commonNotificationViewsWithContent = new ArrayList<>(notificationCount);
+        for (int i = 0; i < notificationCount; i++) {
+            final String json = BenchmarkFixtures.createItem(fixture, i);
+            final NotificationView notificationView = gson.fromJson(json, NotificationView.class);
+            notificationView.json = json;
+            commonNotificationViews.add(new CommonNotificationView(notificationView));
+            commonNotificationViewsWithContent.add(new CommonNotificationView(notificationView, notificationContentDetailFactory.parseContent(notificationView.type, json).orElse(null)));
+        }
+    }
+
+    @Benchmark
+    public void generateContentDetails(final Blackhole blackhole) {
+        for (final CommonNotificationView commonNotificationView : commonNotificationViews) {
+            blackhole.consume(notificationContentDetailFactory.generateContentDetails(commonNotificationView));
+        }
+    }
+
+    @Benchmark
+    public void generateContentDetailsFromParsedContent(final Blackhole blackhole) {
+        for (final CommonNotificationView commonNotificationView : commonNotificationViewsWithContent) {
+            blackhole.consume(notificationContentDetailFactory.generateContentDetails(commonNotificationView));
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.benchmark;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.blackduck.rest.BlackDuckRestConnection;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.rest.proxy.ProxyInfo;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+/**
+ * Serves pre-rendered pages of a fixture instead of talking to a server, so the benchmarks only measure the client side of paging and
+ * deserialization. The canned response for each page is created on first use and then reused, so once a benchmark's setup has requested every
+ * page, no Mockito proxies are created in the measured path.
+ */
+public class StubBlackDuckRestConnection extends BlackDuckRestConnection {
+    private final String fixture;
+    private final int totalCount;
+    private final Map<String, Response> cannedResponses = new ConcurrentHashMap<>();
+
+    public StubBlackDuckRestConnection(final String fixture, final int totalCount) throws MalformedURLException {
+        super(new PrintStreamIntLogger(System.out, LogLevel.WARN), new URL("https://hub-server.com/"), 120, ProxyInfo.NO_PROXY_INFO);
+        this.fixture = fixture;
+        this.totalCount = totalCount;
+    }
+
+    @Override
+    public void populateHttpClientBuilder(final HttpClientBuilder httpClientBuilder, final RequestConfig.Builder defaultRequestConfigBuilder) throws IntegrationException {
+    }
+
+    @Override
+    public void authenticateWithBlackDuck() throws IntegrationException {
+    }
+
+    @Override
+    public Response executeRequest(final Request request) throws IntegrationException {
+        final int offset = getIntegerParameter(request, "offset", 0);
+        final int limit = getIntegerParameter(request, "limit", 100);
+        return cannedResponses.computeIfAbsent(offset + ":" + limit, key -> createCannedResponse(BenchmarkFixtures.createPage(fixture, totalCount, offset, limit)));
+    }
+
+    private Response createCannedResponse(final String page) {
+        // the mock's close does nothing, so the same response can be returned for every request of the page
+        final Response response = Mockito.mock(Response.class);
+        try {
+            Mockito.when(response.getContentString()).thenReturn(page);
+        } catch (final Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return response;
+    }
+
+    private int getIntegerParameter(final Request request, final String name, final int defaultValue) {
+        final Set<String> values = request.getQueryParameters().get(name);
+        if (values == null || values.isEmpty()) {
+            return defaultValue;
+        }
+        return Integer.parseInt(values.iterator().next());
+    }
+
+}
@@ -0,0 +1,91 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.api.view;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.collections.map.ReferenceIdentityMap;
+
+import com.synopsys.integration.blackduck.api.core.HubView;
+import com.synopsys.integration.blackduck.api.core.ResourceLink;
+
+/**
+ * The link indexes of views, held weakly and matched by identity so an index lives exactly as long as its view.
+ */
+class LinkIndexTable {
+    // views compare by content, which is neither cheap nor stable, so they are matched by identity
+    @SuppressWarnings("unchecked")
+    private final Map<HubView, LinkIndex> linkIndexes = Collections.synchronizedMap(new ReferenceIdentityMap(ReferenceIdentityMap.WEAK, ReferenceIdentityMap.HARD));
+
+    LinkIndex getLinkIndex(final HubView view, final List<ResourceLink> links) {
+        final LinkIndex linkIndex = linkIndexes.get(view);
+        if (linkIndex != null && linkIndex.isIndexOf(links)) {
+            return linkIndex;
+        }
+        final LinkIndex rebuiltLinkIndex = new LinkIndex(links);
+        linkIndexes.put(view, rebuiltLinkIndex);
+        return rebuiltLinkIndex;
+    }
+
+    static class LinkIndex {
+        private final ResourceLink[] indexedLinks;
+        private final String[] indexedRels;
+        private final String[] indexedHrefs;
+        private final Map<String, List<String>> hrefsByRel = new HashMap<>();
+
+        private LinkIndex(final List<ResourceLink> links) {
+            indexedLinks = links.toArray(new ResourceLink[links.size()]);
+            indexedRels = new String[indexedLinks.length];
+            indexedHrefs = new String[indexedLinks.length];
+            for (int i = 0; i < indexedLinks.length; i++) {
+                indexedRels[i] = indexedLinks[i].rel;
+                indexedHrefs[i] = indexedLinks[i].href;
+                hrefsByRel.computeIfAbsent(indexedRels[i], rel -> new ArrayList<>(1)).add(indexedHrefs[i]);
+            }
+        }
+
+        List<String> getHrefs(final String rel) {
+            return hrefsByRel.get(rel);
+        }
+
+        // the links are public and mutable, so the index is only used while every link, rel and href is still the one it was built from
+        private boolean isIndexOf(final List<ResourceLink> currentLinks) {
+            if (currentLinks.size() != indexedLinks.length) {
+                return false;
+            }
+            for (int i = 0; i < indexedLinks.length; i++) {
+                final ResourceLink currentLink = currentLinks.get(i);
+                if (currentLink != indexedLinks[i] || currentLink.rel != indexedRels[i] || currentLink.href != indexedHrefs[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+}
@@ -33,6 +33,9 @@ import com.synopsys.integration.blackduck.exception.HubIntegrationException;
 import com.synopsys.integration.log.IntLogger;
 
 public class MetaHandler {
+    // shared by every MetaHandler
+    private static final LinkIndexTable LINK_INDEXES = new LinkIndexTable();
+
     private final IntLogger logger;
 
     public MetaHandler(final IntLogger logger) {
@@ -48,31 +51,16 @@ public class MetaHandler {
         if (links == null) {
             return false;
         }
-        for (final ResourceLink link : links) {
-            if (link.rel.equals(linkKey)) {
-                return true;
-            }
-        }
-        return false;
+        return LINK_INDEXES.getLinkIndex(view, links).getHrefs(linkKey) != null;
     }
 
     public String getFirstLink(final HubView view, final String linkKey) throws HubIntegrationException {
         final List<ResourceLink> links = getLinkViews(view);
-        final StringBuilder linksAvailable = new StringBuilder();
-        linksAvailable.append("Could not find the link '" + linkKey + "', these are the available links : ");
-        int i = 0;
-        for (final ResourceLink link : links) {
-            if (link.rel.equals(linkKey)) {
-                return link.href;
-            }
-            if (i > 0) {
-                linksAvailable.append(", ");
-            }
-            linksAvailable.append("'" + link.rel + "'");
-            i++;
+        final List<String> linkHrefs = LINK_INDEXES.getLinkIndex(view, links).getHrefs(linkKey);
+        if (linkHrefs == null) {
+            throw createMissingLinkException(view, links, linkKey);
         }
-        linksAvailable.append(". For View : " + view._meta.href);
-        throw new HubIntegrationException(linksAvailable.toString());
+        return linkHrefs.get(0);
     }
 
     public String getFirstLinkSafely(final HubView view, final String linkKey) {
@@ -87,25 +75,11 @@ public class MetaHandler {
 
     public List<String> getLinks(final HubView view, final String linkKey) throws HubIntegrationException {
         final List<ResourceLink> links = getLinkViews(view);
-        final List<String> linkHrefs = new ArrayList<>();
-        final StringBuilder linksAvailable = new StringBuilder();
-        linksAvailable.append("Could not find the link '" + linkKey + "', these are the available links : ");
-        int i = 0;
-        for (final ResourceLink link : links) {
-            if (link.rel.equals(linkKey)) {
-                linkHrefs.add(link.href);
-            }
-            if (i > 0) {
-                linksAvailable.append(", ");
-            }
-            linksAvailable.append("'" + link.rel + "'");
-            i++;
+        final List<String> linkHrefs = LINK_INDEXES.getLinkIndex(view, links).getHrefs(linkKey);
+        if (linkHrefs == null) {
+            throw createMissingLinkException(view, links, linkKey);
         }
-        if (!linkHrefs.isEmpty()) {
-            return linkHrefs;
-        }
-        linksAvailable.append(". For View : " + view._meta.href);
-        throw new HubIntegrationException(linksAvailable.toString());
+        return new ArrayList<>(linkHrefs);
     }
 
     public ResourceMetadata getMetaView(final HubView view) throws HubIntegrationException {
@@ -142,4 +116,19 @@ public class MetaHandler {
         return href;
     }
 
+    private HubIntegrationException createMissingLinkException(final HubView view, final List<ResourceLink> links, final String linkKey) {
+        final StringBuilder linksAvailable = new StringBuilder();
+        linksAvailable.append("Could not find the link '" + linkKey + "', these are the available links : ");
+        int i = 0;
+        for (final ResourceLink link : links) {
+            if (i > 0) {
+                linksAvailable.append(", ");
+            }
+            linksAvailable.append("'" + link.rel + "'");
+            i++;
+        }
+        linksAvailable.append(". For View : " + view._meta.href);
+        return new HubIntegrationException(linksAvailable.toString());
+    }
+
 }
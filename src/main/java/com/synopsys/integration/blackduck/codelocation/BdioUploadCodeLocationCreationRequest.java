@@ -23,11 +23,13 @@
  */
 package com.synopsys.integration.blackduck.codelocation;
 
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.synopsys.integration.blackduck.codelocation.bdioupload.UploadBatch;
 import com.synopsys.integration.blackduck.codelocation.bdioupload.UploadBatchOutput;
+import com.synopsys.integration.blackduck.codelocation.bdioupload.UploadManifest;
 import com.synopsys.integration.blackduck.codelocation.bdioupload.UploadRunner;
 import com.synopsys.integration.blackduck.codelocation.bdioupload.UploadTarget;
 import com.synopsys.integration.blackduck.exception.HubIntegrationException;
@@ -35,10 +37,21 @@ import com.synopsys.integration.blackduck.exception.HubIntegrationException;
 public class BdioUploadCodeLocationCreationRequest extends CodeLocationCreationRequest<UploadBatchOutput> {
     private final UploadRunner uploadRunner;
     private final UploadBatch uploadBatch;
+    private final Optional<UploadManifest> optionalUploadManifest;
 
     public BdioUploadCodeLocationCreationRequest(final UploadRunner uploadRunner, final UploadBatch uploadBatch) {
         this.uploadRunner = uploadRunner;
         this.uploadBatch = uploadBatch;
+        optionalUploadManifest = Optional.empty();
+    }
+
+    /**
+     * The targets that the manifest already records as uploaded are not uploaded again, and are not waited for.
+     */
+    public BdioUploadCodeLocationCreationRequest(final UploadRunner uploadRunner, final UploadBatch uploadBatch, final UploadManifest uploadManifest) {
+        this.uploadRunner = uploadRunner;
+        this.uploadBatch = uploadBatch;
+        optionalUploadManifest = Optional.of(uploadManifest);
     }
 
     @Override
@@ -51,6 +64,9 @@ public class BdioUploadCodeLocationCreationRequest extends CodeLocationCreationR
 
     @Override
     public UploadBatchOutput executeRequest() throws HubIntegrationException {
+        if (optionalUploadManifest.isPresent()) {
+            return uploadRunner.executeUploads(uploadBatch, optionalUploadManifest.get());
+        }
         return uploadRunner.executeUploads(uploadBatch);
     }
 
@@ -0,0 +1,380 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.codelocation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.collections.map.ReferenceIdentityMap;
+
+import com.synopsys.integration.blackduck.api.generated.enumeration.NotificationType;
+import com.synopsys.integration.blackduck.api.generated.view.CodeLocationView;
+import com.synopsys.integration.blackduck.api.generated.view.NotificationView;
+import com.synopsys.integration.blackduck.exception.HubIntegrationException;
+import com.synopsys.integration.blackduck.exception.HubTimeoutExceededException;
+import com.synopsys.integration.blackduck.notification.NotificationCursor;
+import com.synopsys.integration.blackduck.notification.content.BomComputedNotificationContent;
+import com.synopsys.integration.blackduck.notification.content.detail.NotificationContentDetailFactory;
+import com.synopsys.integration.blackduck.rest.BlackDuckRestConnection;
+import com.synopsys.integration.blackduck.service.CodeLocationService;
+import com.synopsys.integration.blackduck.service.HubServicesFactory;
+import com.synopsys.integration.blackduck.service.NotificationService;
+import com.synopsys.integration.blackduck.service.model.NotificationTaskRange;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.IntLogger;
+
+/**
+ * Waits for code locations to be added to their BOMs. Every registered wait is served by the same polling loop: each poll looks up the code
+ * locations that are not yet known by name, then reads only the BOM computed notifications that are newer than the last poll
+ * and hands each one to the waits for its code location url. The delay between polls backs off exponentially, with jitter, while nothing
+ * changes and the loop stops once nobody is waiting.
+ * <p>
+ * A poller only ever uses the services it was created with. Sharing is opt-in: getShared returns one poller per BlackDuckRestConnection, so
+ * the load on the notifications endpoint stays the same no matter how many scans made through that connection are waiting. The shared
+ * pollers are only weakly held, and the default executor's single daemon thread goes away once polling stops.
+ */
+public class BomComputedPoller {
+    public static final long DEFAULT_INITIAL_DELAY_MILLIS = 1000;
+    public static final long DEFAULT_MAXIMUM_DELAY_MILLIS = 30000;
+
+    private static final List<String> BOM_COMPUTED_TYPES = Collections.singletonList(NotificationType.VERSION_BOM_CODE_LOCATION_BOM_COMPUTED.name());
+    // keyed on the identity of the connection, since two connections to the same Hub may well belong to different users - both sides are weak
+    // so that neither an unused connection nor an idle poller (which references the connection through its services) is kept forever, while
+    // a poller with active waits stays reachable through the poll scheduled on its executor
+    @SuppressWarnings("unchecked")
+    private static final Map<BlackDuckRestConnection, BomComputedPoller> SHARED_POLLERS = Collections.synchronizedMap(new ReferenceIdentityMap(ReferenceIdentityMap.WEAK, ReferenceIdentityMap.WEAK));
+
+    private final CodeLocationService codeLocationService;
+    private final NotificationService notificationService;
+    private final IntLogger logger;
+    private final NotificationContentDetailFactory notificationContentDetailFactory = new NotificationContentDetailFactory(HubServicesFactory.createDefaultGson());
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final long initialDelayMillis;
+    private final long maximumDelayMillis;
+
+    // all of the following are guarded by this
+    private final List<CodeLocationWait> codeLocationWaits = new ArrayList<>();
+    private final Map<String, Set<CodeLocationWait>> codeLocationWaitsByUrl = new HashMap<>();
+    private final Map<String, Date> bomComputedDatesByCodeLocationUrl = new HashMap<>();
+    private NotificationCursor notificationCursor;
+    private Date cursorOrigin;
+    private boolean polling;
+    private int idlePollCount;
+
+    public BomComputedPoller(final CodeLocationService codeLocationService, final NotificationService notificationService, final IntLogger logger) {
+        this(codeLocationService, notificationService, logger, createDaemonScheduledExecutorService(), DEFAULT_INITIAL_DELAY_MILLIS, DEFAULT_MAXIMUM_DELAY_MILLIS);
+    }
+
+    public BomComputedPoller(final CodeLocationService codeLocationService, final NotificationService notificationService, final IntLogger logger, final ScheduledExecutorService scheduledExecutorService,
+            final long initialDelayMillis, final long maximumDelayMillis) {
+        this.codeLocationService = codeLocationService;
+        this.notificationService = notificationService;
+        this.logger = logger;
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.initialDelayMillis = initialDelayMillis;
+        this.maximumDelayMillis = maximumDelayMillis;
+    }
+
+    /**
+     * @return The poller shared by every wait made through the restConnection in this JVM. The services must have been created from that same
+     * restConnection - the services and logger of the first caller are the ones used for polling.
+     */
+    public static BomComputedPoller getShared(final BlackDuckRestConnection restConnection, final CodeLocationService codeLocationService, final NotificationService notificationService, final IntLogger logger) {
+        return SHARED_POLLERS.computeIfAbsent(restConnection, key -> new BomComputedPoller(codeLocationService, notificationService, logger));
+    }
+
+    private static ScheduledExecutorService createDaemonScheduledExecutorService() {
+        final ScheduledThreadPoolExecutor scheduledThreadPoolExecutor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "bom-computed-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // the thread is only kept while there is something to wait for
+        scheduledThreadPoolExecutor.setKeepAliveTime(1, TimeUnit.MINUTES);
+        scheduledThreadPoolExecutor.allowCoreThreadTimeOut(true);
+        return scheduledThreadPoolExecutor;
+    }
+
+    /**
+     * @return A future that completes once every named code location has a BOM computed notification newer than the range's start date, or
+     * completes exceptionally with a HubTimeoutExceededException once the timeout has passed since the range's task start time. Cancelling the
+     * future stops the wait.
+     */
+    public CompletableFuture<Void> waitForCodeLocations(final NotificationTaskRange notificationTaskRange, final Set<String> codeLocationNames, final long timeoutInSeconds) {
+        final long deadline = notificationTaskRange.getTaskStartTime() + TimeUnit.SECONDS.toMillis(timeoutInSeconds);
+        final CodeLocationWait codeLocationWait = new CodeLocationWait(codeLocationNames, notificationTaskRange.getStartDate(), deadline, timeoutInSeconds);
+        if (codeLocationNames.isEmpty()) {
+            codeLocationWait.completion.complete(null);
+            return codeLocationWait.completion;
+        }
+
+        synchronized (this) {
+            codeLocationWaits.add(codeLocationWait);
+            final Date startDate = notificationTaskRange.getStartDate();
+            if (notificationCursor == null || startDate.before(cursorOrigin)) {
+                // notifications from before the cursor started were never read, so start over from the earliest date anyone needs
+                notificationCursor = NotificationCursor.startingAt(startDate);
+                cursorOrigin = startDate;
+            }
+            idlePollCount = 0;
+            if (!polling) {
+                polling = true;
+                try {
+                    scheduledExecutorService.execute(this::poll);
+                } catch (final RejectedExecutionException e) {
+                    stopPolling(e);
+                }
+            }
+        }
+        return codeLocationWait.completion;
+    }
+
+    private void poll() {
+        try {
+            pollAndScheduleNext();
+        } catch (final RuntimeException | Error e) {
+            // otherwise polling would stay set with no poll scheduled, and every wait would hang
+            stopPolling(e);
+            throw e;
+        }
+    }
+
+    private void pollAndScheduleNext() {
+        final List<CodeLocationWait> activeWaits;
+        final NotificationCursor cursor;
+        final Date earliestStartDate;
+        synchronized (this) {
+            removeFinishedWaits();
+            if (codeLocationWaits.isEmpty()) {
+                polling = false;
+                notificationCursor = null;
+                cursorOrigin = null;
+                bomComputedDatesByCodeLocationUrl.clear();
+                return;
+            }
+            activeWaits = new ArrayList<>(codeLocationWaits);
+            cursor = notificationCursor;
+            earliestStartDate = cursorOrigin;
+        }
+
+        boolean madeProgress = false;
+        try {
+            final Set<CodeLocationWait> waitsToCheck = resolveCodeLocations(activeWaits, earliestStartDate);
+            final Set<String> updatedCodeLocationUrls = readNotifications(cursor);
+            madeProgress = !waitsToCheck.isEmpty() || !updatedCodeLocationUrls.isEmpty();
+            completeSatisfiedWaits(waitsToCheck, updatedCodeLocationUrls);
+        } catch (final IntegrationException | RuntimeException e) {
+            // the next poll may well succeed, so only the timeout ends a wait
+            logger.warn(String.format("Could not check whether the code locations were added to the BOM: %s", e.getMessage()));
+        }
+
+        scheduleNextPoll(madeProgress);
+    }
+
+    /**
+     * @return The waits that found at least one of their code locations.
+     */
+    private Set<CodeLocationWait> resolveCodeLocations(final List<CodeLocationWait> activeWaits, final Date earliestStartDate) throws IntegrationException {
+        final Set<CodeLocationWait> resolvedWaits = new HashSet<>();
+        final Set<String> unresolvedNames = new HashSet<>();
+        activeWaits.forEach(codeLocationWait -> unresolvedNames.addAll(codeLocationWait.unresolvedNames));
+        if (unresolvedNames.isEmpty()) {
+            return resolvedWaits;
+        }
+
+        final Map<String, CodeLocationView> codeLocationsByName = codeLocationService.getCodeLocationsByNames(unresolvedNames, earliestStartDate);
+        logger.debug(String.format("Found %d of the %d code locations still being looked for.", codeLocationsByName.size(), unresolvedNames.size()));
+        synchronized (this) {
+            for (final CodeLocationWait codeLocationWait : activeWaits) {
+                for (final String codeLocationUrl : codeLocationWait.resolve(codeLocationsByName)) {
+                    codeLocationWaitsByUrl.computeIfAbsent(codeLocationUrl, key -> new HashSet<>()).add(codeLocationWait);
+                    resolvedWaits.add(codeLocationWait);
+                }
+            }
+        }
+        return resolvedWaits;
+    }
+
+    /**
+     * @return The urls of the code locations that have new BOM computed notifications.
+     */
+    private Set<String> readNotifications(final NotificationCursor cursor) throws IntegrationException {
+        final Set<String> updatedCodeLocationUrls = new HashSet<>();
+        final List<NotificationView> notifications = notificationService.getNotificationsAfterCursor(cursor, BOM_COMPUTED_TYPES);
+        logger.debug(String.format("There were %d new notifications found.", notifications.size()));
+        synchronized (this) {
+            for (final NotificationView notificationView : notifications) {
+                final Optional<String> codeLocationUrl = getCodeLocationUrl(notificationView);
+                if (codeLocationUrl.isPresent()) {
+                    bomComputedDatesByCodeLocationUrl.merge(codeLocationUrl.get(), notificationView.createdAt, (left, right) -> left.after(right) ? left : right);
+                    updatedCodeLocationUrls.add(codeLocationUrl.get());
+                }
+            }
+            // a rewind by a new wait while this poll was running takes precedence
+            if (notificationCursor == cursor) {
+                notificationCursor = cursor.advance(notifications);
+            }
+        }
+        return updatedCodeLocationUrls;
+    }
+
+    private synchronized void completeSatisfiedWaits(final Set<CodeLocationWait> resolvedWaits, final Set<String> updatedCodeLocationUrls) {
+        // only the waits that gained a code location or a notification for one of theirs can have changed
+        final Set<CodeLocationWait> waitsToCheck = new HashSet<>(resolvedWaits);
+        for (final String codeLocationUrl : updatedCodeLocationUrls) {
+            waitsToCheck.addAll(codeLocationWaitsByUrl.getOrDefault(codeLocationUrl, Collections.emptySet()));
+        }
+        for (final CodeLocationWait codeLocationWait : waitsToCheck) {
+            if (codeLocationWait.isSatisfiedBy(bomComputedDatesByCodeLocationUrl)) {
+                codeLocationWait.completion.complete(null);
+            }
+        }
+    }
+
+    /**
+     * Fails every wait that is still active, so that its caller hears about it rather than waiting for a poll that will never come.
+     */
+    private synchronized void stopPolling(final Throwable cause) {
+        polling = false;
+        notificationCursor = null;
+        cursorOrigin = null;
+        bomComputedDatesByCodeLocationUrl.clear();
+        codeLocationWaitsByUrl.clear();
+        final HubIntegrationException stoppedException = new HubIntegrationException("The polling for the BOM computed notifications stopped unexpectedly.", cause);
+        codeLocationWaits.forEach(codeLocationWait -> codeLocationWait.completion.completeExceptionally(stoppedException));
+        codeLocationWaits.clear();
+    }
+
+    private synchronized void removeFinishedWaits() {
+        final long now = System.currentTimeMillis();
+        final Iterator<CodeLocationWait> waitIterator = codeLocationWaits.iterator();
+        while (waitIterator.hasNext()) {
+            final CodeLocationWait codeLocationWait = waitIterator.next();
+            if (!codeLocationWait.completion.isDone() && now > codeLocationWait.deadline) {
+                codeLocationWait.completion.completeExceptionally(new HubTimeoutExceededException(
+                        String.format("It was not possible to verify the code locations were added to the BOM within the timeout (%ds) provided.", codeLocationWait.timeoutInSeconds)));
+            }
+            if (codeLocationWait.completion.isDone()) {
+                waitIterator.remove();
+                for (final String codeLocationUrl : codeLocationWait.codeLocationUrls) {
+                    final Set<CodeLocationWait> waitsForUrl = codeLocationWaitsByUrl.get(codeLocationUrl);
+                    waitsForUrl.remove(codeLocationWait);
+                    if (waitsForUrl.isEmpty()) {
+                        codeLocationWaitsByUrl.remove(codeLocationUrl);
+                    }
+                }
+            }
+        }
+
+        // only the notifications that an active wait could still accept need to be remembered
+        final Optional<Date> earliestStartDate = codeLocationWaits.stream().map(codeLocationWait -> codeLocationWait.startDate).min(Date::compareTo);
+        bomComputedDatesByCodeLocationUrl.values().removeIf(bomComputedDate -> !earliestStartDate.isPresent() || bomComputedDate.before(earliestStartDate.get()));
+        if (earliestStartDate.isPresent() && cursorOrigin != null && earliestStartDate.get().after(cursorOrigin)) {
+            // the notifications before the earliest start date are forgotten now, so a new wait that needs them has to rewind the cursor
+            cursorOrigin = earliestStartDate.get();
+        }
+    }
+
+    private synchronized void scheduleNextPoll(final boolean madeProgress) {
+        if (madeProgress) {
+            idlePollCount = 0;
+        } else {
+            idlePollCount++;
+        }
+
+        final long backoffMillis = Math.min(maximumDelayMillis, initialDelayMillis << Math.min(idlePollCount, 20));
+        // half of the delay is fixed and half is random, so that many pollers do not hit the server in step
+        long delayMillis = backoffMillis / 2 + ThreadLocalRandom.current().nextLong(backoffMillis / 2 + 1);
+
+        final long now = System.currentTimeMillis();
+        for (final CodeLocationWait codeLocationWait : codeLocationWaits) {
+            delayMillis = Math.min(delayMillis, Math.max(0, codeLocationWait.deadline - now + 1));
+        }
+        scheduledExecutorService.schedule(this::poll, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private Optional<String> getCodeLocationUrl(final NotificationView notificationView) {
+        // the cursor hands each notification over once, so its content is only ever read once
+        return notificationContentDetailFactory.parseContent(notificationView.type, notificationView.json)
+                       .map(notificationContent -> ((BomComputedNotificationContent) notificationContent).codeLocation);
+    }
+
+    private static class CodeLocationWait {
+        private final Set<String> unresolvedNames;
+        private final Set<String> codeLocationUrls = new HashSet<>();
+        private final Date startDate;
+        private final long deadline;
+        private final long timeoutInSeconds;
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        public CodeLocationWait(final Set<String> codeLocationNames, final Date startDate, final long deadline, final long timeoutInSeconds) {
+            this.unresolvedNames = new HashSet<>(codeLocationNames);
+            this.startDate = startDate;
+            this.deadline = deadline;
+            this.timeoutInSeconds = timeoutInSeconds;
+        }
+
+        public List<String> resolve(final Map<String, CodeLocationView> codeLocationsByName) {
+            final List<String> resolvedUrls = new ArrayList<>();
+            final Iterator<String> nameIterator = unresolvedNames.iterator();
+            while (nameIterator.hasNext()) {
+                final CodeLocationView codeLocationView = codeLocationsByName.get(nameIterator.next());
+                if (codeLocationView != null) {
+                    codeLocationUrls.add(codeLocationView._meta.href);
+                    resolvedUrls.add(codeLocationView._meta.href);
+                    nameIterator.remove();
+                }
+            }
+            return resolvedUrls;
+        }
+
+        public boolean isSatisfiedBy(final Map<String, Date> bomComputedDatesByCodeLocationUrl) {
+            if (!unresolvedNames.isEmpty()) {
+                return false;
+            }
+            for (final String codeLocationUrl : codeLocationUrls) {
+                final Date bomComputedDate = bomComputedDatesByCodeLocationUrl.get(codeLocationUrl);
+                if (bomComputedDate == null || bomComputedDate.before(startDate)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+}
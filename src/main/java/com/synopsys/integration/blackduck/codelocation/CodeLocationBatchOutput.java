@@ -48,4 +48,11 @@ public abstract class CodeLocationBatchOutput<T extends CodeLocationOutput> {
                        .collect(Collectors.toSet());
     }
 
+    /**
+     * @return The code locations that will get a new BOM computed notification - by default, every successful one.
+     */
+    public Set<String> getCodeLocationNamesToWaitFor() {
+        return getSuccessfulCodeLocationNames();
+    }
+
 }
@@ -30,11 +30,17 @@ import com.synopsys.integration.blackduck.service.model.NotificationTaskRange;
 public class CodeLocationCreationData<T> {
     private final NotificationTaskRange notificationTaskRange;
     private final Set<String> successfulCodeLocationNames;
+    private final Set<String> codeLocationNamesToWaitFor;
     private final T output;
 
     public CodeLocationCreationData(final NotificationTaskRange notificationTaskRange, final Set<String> successfulCodeLocationNames, final T output) {
+        this(notificationTaskRange, successfulCodeLocationNames, successfulCodeLocationNames, output);
+    }
+
+    public CodeLocationCreationData(final NotificationTaskRange notificationTaskRange, final Set<String> successfulCodeLocationNames, final Set<String> codeLocationNamesToWaitFor, final T output) {
         this.notificationTaskRange = notificationTaskRange;
         this.successfulCodeLocationNames = successfulCodeLocationNames;
+        this.codeLocationNamesToWaitFor = codeLocationNamesToWaitFor;
         this.output = output;
     }
 
@@ -46,6 +52,13 @@ public class CodeLocationCreationData<T> {
         return successfulCodeLocationNames;
     }
 
+    /**
+     * @return The successful code locations that will get a new BOM computed notification - these are the ones to pass to waitForCodeLocations.
+     */
+    public Set<String> getCodeLocationNamesToWaitFor() {
+        return codeLocationNamesToWaitFor;
+    }
+
     public T getOutput() {
         return output;
     }
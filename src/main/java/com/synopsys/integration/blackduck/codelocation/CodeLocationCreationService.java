@@ -26,21 +26,12 @@ package com.synopsys.integration.blackduck.codelocation;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Date;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
-
-import com.jayway.jsonpath.JsonPath;
-import com.synopsys.integration.blackduck.api.generated.enumeration.NotificationType;
-import com.synopsys.integration.blackduck.api.generated.view.CodeLocationView;
-import com.synopsys.integration.blackduck.api.generated.view.NotificationView;
-import com.synopsys.integration.blackduck.exception.DoesNotExistException;
-import com.synopsys.integration.blackduck.exception.HubTimeoutExceededException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.synopsys.integration.blackduck.exception.HubIntegrationException;
 import com.synopsys.integration.blackduck.service.CodeLocationService;
 import com.synopsys.integration.blackduck.service.DataService;
 import com.synopsys.integration.blackduck.service.HubService;
@@ -52,11 +43,17 @@ import com.synopsys.integration.log.IntLogger;
 public class CodeLocationCreationService extends DataService {
     private final CodeLocationService codeLocationService;
     private final NotificationService notificationService;
+    private final BomComputedPoller bomComputedPoller;
 
     public CodeLocationCreationService(final HubService hubService, final IntLogger logger, final CodeLocationService codeLocationService, final NotificationService notificationService) {
+        this(hubService, logger, codeLocationService, notificationService, new BomComputedPoller(codeLocationService, notificationService, logger));
+    }
+
+    public CodeLocationCreationService(final HubService hubService, final IntLogger logger, final CodeLocationService codeLocationService, final NotificationService notificationService, final BomComputedPoller bomComputedPoller) {
         super(hubService, logger);
         this.codeLocationService = codeLocationService;
         this.notificationService = notificationService;
+        this.bomComputedPoller = bomComputedPoller;
     }
 
     public <T extends CodeLocationBatchOutput> CodeLocationCreationData<T> createCodeLocations(final CodeLocationCreationRequest<T> codeLocationCreationRequest) throws IntegrationException {
@@ -64,23 +61,44 @@ public class CodeLocationCreationService extends DataService {
         final T output = codeLocationCreationRequest.executeRequest();
 
         final Set<String> successfulCodeLocationNames = output.getSuccessfulCodeLocationNames();
-        return new CodeLocationCreationData<>(notificationTaskRange, successfulCodeLocationNames, output);
+        final Set<String> codeLocationNamesToWaitFor = output.getCodeLocationNamesToWaitFor();
+        return new CodeLocationCreationData<>(notificationTaskRange, successfulCodeLocationNames, codeLocationNamesToWaitFor, output);
     }
 
     public <T extends CodeLocationBatchOutput> T createCodeLocationsAndWait(final CodeLocationCreationRequest<T> codeLocationCreationRequest, final long timeoutInSeconds) throws IntegrationException, InterruptedException {
         final CodeLocationCreationData<T> codeLocationCreationData = createCodeLocations(codeLocationCreationRequest);
 
         final NotificationTaskRange notificationTaskRange = codeLocationCreationData.getNotificationTaskRange();
-        final Set<String> successfulCodeLocationNames = codeLocationCreationData.getSuccessfulCodeLocationNames();
+        final Set<String> codeLocationNamesToWaitFor = codeLocationCreationData.getCodeLocationNamesToWaitFor();
         final T output = codeLocationCreationData.getOutput();
 
-        waitForCodeLocations(notificationTaskRange, successfulCodeLocationNames, timeoutInSeconds);
+        waitForCodeLocations(notificationTaskRange, codeLocationNamesToWaitFor, timeoutInSeconds);
 
         return output;
     }
 
     public void waitForCodeLocations(final NotificationTaskRange notificationTaskRange, final Set<String> codeLocationNames, final long timeoutInSeconds) throws IntegrationException, InterruptedException {
-        assertCodeLocationsAddedToBom(notificationTaskRange, codeLocationNames, timeoutInSeconds);
+        final CompletableFuture<Void> completion = waitForCodeLocationsAsync(notificationTaskRange, codeLocationNames, timeoutInSeconds);
+        try {
+            completion.get();
+            logger.info("All code locations have been added to the BOM.");
+        } catch (final InterruptedException e) {
+            completion.cancel(true);
+            throw e;
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IntegrationException) {
+                throw (IntegrationException) cause;
+            }
+            throw new HubIntegrationException(String.format("Could not wait for the code locations: %s", cause.getMessage()), cause);
+        }
+    }
+
+    /**
+     * @return A future that completes once all of the code locations have been added to the BOM. Waits from any number of threads share the same poller.
+     */
+    public CompletableFuture<Void> waitForCodeLocationsAsync(final NotificationTaskRange notificationTaskRange, final Set<String> codeLocationNames, final long timeoutInSeconds) {
+        return bomComputedPoller.waitForCodeLocations(notificationTaskRange, codeLocationNames, timeoutInSeconds);
     }
 
     public NotificationTaskRange calculateCodeLocationRange() throws IntegrationException {
@@ -94,59 +112,4 @@ public class CodeLocationCreationService extends DataService {
         return new NotificationTaskRange(startTime, startDate, endDate);
     }
 
-    private void assertCodeLocationsAddedToBom(final NotificationTaskRange notificationTaskRange, final Set<String> codeLocationNames, final long timeoutInSeconds) throws IntegrationException, InterruptedException {
-        boolean allCompleted = false;
-        int attemptCount = 1;
-        while (!allCompleted && System.currentTimeMillis() - notificationTaskRange.getTaskStartTime() <= timeoutInSeconds * 1000) {
-            final List<CodeLocationView> codeLocations = new ArrayList<>();
-            for (final String codeLocationName : codeLocationNames) {
-                try {
-                    final CodeLocationView codeLocationView = codeLocationService.getCodeLocationByName(codeLocationName);
-                    codeLocations.add(codeLocationView);
-                } catch (final DoesNotExistException ignoreBecauseItIsExpected) {
-                    // ignored - the code locations may not exist yet, hence the searching and timeout
-                }
-            }
-
-            if (codeLocations.size() == codeLocationNames.size()) {
-                logger.debug("All code locations have been found, now looking for notifications.");
-                final Set<String> codeLocationUrlsToFind = codeLocations
-                                                                   .stream()
-                                                                   .map(codeLocation -> codeLocation._meta.href)
-                                                                   .collect(Collectors.toSet());
-                final Set<String> codeLocationUrls = new HashSet<>();
-                final List<NotificationView> notifications = notificationService
-                                                                     .getFilteredNotifications(notificationTaskRange.getStartDate(), notificationTaskRange.getEndDate(),
-                                                                             Arrays.asList(NotificationType.VERSION_BOM_CODE_LOCATION_BOM_COMPUTED.name()));
-                logger.debug(String.format("There were %d notifications found.", notifications.size()));
-
-                for (final NotificationView notificationView : notifications) {
-                    final Optional<String> codeLocationUrl = getCodeLocationUrl(notificationView);
-                    if (codeLocationUrl.isPresent()) {
-                        codeLocationUrls.add(codeLocationUrl.get());
-                    }
-                }
-
-                if (codeLocationUrls.containsAll(codeLocationUrlsToFind)) {
-                    allCompleted = true;
-                } else {
-                    attemptCount++;
-                    logger.info(String.format("All code locations have not been added to the BOM yet, waiting another 5 seconds (try #%d)...", attemptCount));
-                    Thread.sleep(5000);
-                }
-            }
-        }
-
-        if (!allCompleted) {
-            throw new HubTimeoutExceededException(String.format("It was not possible to verify the code locations were added to the BOM within the timeout (%ds) provided.", timeoutInSeconds));
-        } else {
-            logger.info("All code locations have been added to the BOM.");
-        }
-    }
-
-    private Optional<String> getCodeLocationUrl(final NotificationView notificationView) {
-        final String codeLocationUrl = JsonPath.read(notificationView.json, "$.content.codeLocation");
-        return Optional.ofNullable(codeLocationUrl);
-    }
-
 }
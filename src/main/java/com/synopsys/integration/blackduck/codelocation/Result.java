@@ -25,5 +25,6 @@ package com.synopsys.integration.blackduck.codelocation;
 
 public enum Result {
     SUCCESS,
-    FAILURE
+    FAILURE,
+    TIMEOUT
 }
@@ -28,6 +28,18 @@ import java.util.List;
 
 public class UploadBatch {
     private final List<UploadTarget> uploadTargets = new ArrayList<>();
+    private final boolean compressUploads;
+
+    public UploadBatch() {
+        this(false);
+    }
+
+    /**
+     * @param compressUploads When true, every target is gzipped as it is uploaded, as if it had been created compressed.
+     */
+    public UploadBatch(final boolean compressUploads) {
+        this.compressUploads = compressUploads;
+    }
 
     public void addUploadTarget(final UploadTarget uploadTarget) {
         uploadTargets.add(uploadTarget);
@@ -37,4 +49,8 @@ public class UploadBatch {
         return uploadTargets;
     }
 
+    public boolean isCompressUploads() {
+        return compressUploads;
+    }
+
 }
@@ -24,12 +24,30 @@
 package com.synopsys.integration.blackduck.codelocation.bdioupload;
 
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
 
 import com.synopsys.integration.blackduck.codelocation.CodeLocationBatchOutput;
+import com.synopsys.integration.blackduck.codelocation.Result;
 
 public class UploadBatchOutput extends CodeLocationBatchOutput<UploadOutput> {
     public UploadBatchOutput(final List<UploadOutput> outputs) {
         super(outputs);
     }
 
+    /**
+     * A code location is only recomputed if at least one of its files was actually uploaded, so the targets skipped because of an
+     * UploadManifest are left out.
+     */
+    @Override
+    public Set<String> getCodeLocationNamesToWaitFor() {
+        return getOutputs().stream()
+                       .filter(output -> Result.SUCCESS == output.getResult() && !output.isAlreadyUploaded())
+                       .map(output -> output.getCodeLocationName())
+                       .filter((codeLocationName -> StringUtils.isNotBlank(codeLocationName)))
+                       .collect(Collectors.toSet());
+    }
+
 }
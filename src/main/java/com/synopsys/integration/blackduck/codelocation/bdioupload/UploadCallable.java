@@ -23,38 +23,77 @@
  */
 package com.synopsys.integration.blackduck.codelocation.bdioupload;
 
+import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.entity.GzipCompressingEntity;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.FileEntity;
 
 import com.synopsys.integration.blackduck.service.HubService;
 import com.synopsys.integration.blackduck.service.model.RequestFactory;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.HttpMethod;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
 import com.synopsys.integration.rest.request.Request;
 import com.synopsys.integration.rest.request.Response;
 
 public class UploadCallable implements Callable<UploadOutput> {
     private final HubService hubService;
     private final UploadTarget uploadTarget;
+    private final boolean compressed;
+    private final AtomicBoolean compressionRejected;
 
     public UploadCallable(final HubService hubService, final UploadTarget uploadTarget) {
+        this(hubService, uploadTarget, uploadTarget.isCompressed());
+    }
+
+    public UploadCallable(final HubService hubService, final UploadTarget uploadTarget, final boolean compressed) {
+        this(hubService, uploadTarget, compressed, new AtomicBoolean(false));
+    }
+
+    /**
+     * @param compressionRejected Shared by the uploads of a batch: once the server rejects one compressed upload, the rest of the batch is sent uncompressed.
+     */
+    public UploadCallable(final HubService hubService, final UploadTarget uploadTarget, final boolean compressed, final AtomicBoolean compressionRejected) {
         this.hubService = hubService;
         this.uploadTarget = uploadTarget;
+        this.compressed = compressed;
+        this.compressionRejected = compressionRejected;
+    }
+
+    public UploadTarget getUploadTarget() {
+        return uploadTarget;
     }
 
     @Override
     public UploadOutput call() {
         try {
-            final String jsonPayload;
-            try {
-                jsonPayload = FileUtils.readFileToString(uploadTarget.getUploadFile(), StandardCharsets.UTF_8);
-            } catch (final IOException e) {
-                return UploadOutput.FAILURE(uploadTarget.getCodeLocationName(), "Failed to upload file: " + uploadTarget.getUploadFile().getAbsolutePath() + " because " + e.getMessage(), e);
+            final File uploadFile = uploadTarget.getUploadFile();
+            if (!uploadFile.isFile() || !uploadFile.canRead()) {
+                return UploadOutput.FAILURE(uploadTarget.getCodeLocationName(), "Failed to upload file: " + uploadFile.getAbsolutePath() + " because it does not exist or can not be read", null);
             }
 
+            // the file is streamed from disk as the request is written, so the memory used does not depend on the size of the file
             final String uri = hubService.getUri(HubService.BOMIMPORT_PATH);
-            final Request request = RequestFactory.createCommonPostRequestBuilder(jsonPayload).uri(uri).mimeType(uploadTarget.getMediaType()).build();
+            if (compressed && !compressionRejected.get()) {
+                try {
+                    return uploadCompressed(uri, uploadFile);
+                } catch (final IntegrationRestException e) {
+                    if (!isCompressionRejected(e)) {
+                        throw e;
+                    }
+                    // the server did not accept the gzipped body, so it gets the file as is, as does every later upload
+                    compressionRejected.set(true);
+                }
+            }
+
+            final Request request = RequestFactory.createCommonPostRequestBuilder(uploadFile).uri(uri).mimeType(uploadTarget.getMediaType()).build();
             try (Response response = hubService.executeRequest(request)) {
                 final String responseString = response.getContentString();
                 return UploadOutput.SUCCESS(uploadTarget.getCodeLocationName(), responseString);
@@ -66,4 +105,29 @@ public class UploadCallable implements Callable<UploadOutput> {
         }
     }
 
+    private UploadOutput uploadCompressed(final String uri, final File uploadFile) throws IntegrationException {
+        // the file is compressed while it is streamed, so nothing compressed is ever held in memory or written to disk
+        final RequestBuilder requestBuilder = hubService.getRestConnection().createRequestBuilder(HttpMethod.POST);
+        requestBuilder.setUri(uri);
+        requestBuilder.setEntity(new GzipCompressingEntity(new FileEntity(uploadFile, ContentType.create(uploadTarget.getMediaType()))));
+        try (Response response = hubService.getRestConnection().executeRequest(requestBuilder.build())) {
+            final String responseString = response.getContentString();
+            return UploadOutput.SUCCESS(uploadTarget.getCodeLocationName(), responseString);
+        } catch (final IOException e) {
+            return UploadOutput.FAILURE(uploadTarget.getCodeLocationName(), e.getMessage(), e);
+        }
+    }
+
+    private boolean isCompressionRejected(final IntegrationRestException e) {
+        // servers that can not read a gzipped body either say so (415) or fail to parse it (400) - any other 400 is about the content itself
+        if (e.getHttpStatusCode() == HttpStatus.SC_UNSUPPORTED_MEDIA_TYPE) {
+            return true;
+        }
+        if (e.getHttpStatusCode() == HttpStatus.SC_BAD_REQUEST) {
+            final String httpResponseContent = e.getHttpResponseContent();
+            return StringUtils.containsIgnoreCase(httpResponseContent, "encoding") || StringUtils.containsIgnoreCase(httpResponseContent, "gzip");
+        }
+        return false;
+    }
+
 }
@@ -0,0 +1,136 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.codelocation.bdioupload;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.commons.io.FileUtils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.synopsys.integration.blackduck.exception.HubIntegrationException;
+
+/**
+ * Remembers which targets of a batch have already been uploaded, so that running a partially failed batch again only uploads the targets
+ * that failed. Targets are identified by their code location name together with the absolute path of their file, and a target counts as
+ * uploaded only while its file is unchanged (same length and modification time). The manifest is saved
+ * after every successful upload, so it survives the run being killed part way through.
+ * <p>
+ * A target skipped this way is reported as successful with the response recorded when it was uploaded. Its BOM was computed during the
+ * earlier run, so a wait for it should use that run's NotificationTaskRange.
+ */
+public class UploadManifest {
+    private final File manifestFile;
+    private final Gson gson;
+    private final ManifestContents manifestContents;
+
+    public UploadManifest(final File manifestFile, final Gson gson) throws HubIntegrationException {
+        this.manifestFile = manifestFile;
+        this.gson = gson;
+        manifestContents = load();
+    }
+
+    public synchronized Optional<UploadOutput> getCompletedOutput(final UploadTarget uploadTarget) {
+        final CompletedUpload completedUpload = manifestContents.completedUploads.get(createKey(uploadTarget));
+        if (completedUpload == null || !completedUpload.matches(uploadTarget.getUploadFile())) {
+            return Optional.empty();
+        }
+        return Optional.of(UploadOutput.ALREADY_UPLOADED(uploadTarget.getCodeLocationName(), completedUpload.response));
+    }
+
+    public synchronized void recordSuccess(final UploadTarget uploadTarget, final UploadOutput uploadOutput) throws HubIntegrationException {
+        manifestContents.completedUploads.put(createKey(uploadTarget), new CompletedUpload(uploadTarget.getUploadFile(), uploadOutput.getResponse().orElse(null)));
+        save();
+    }
+
+    public synchronized void clear() throws HubIntegrationException {
+        manifestContents.completedUploads.clear();
+        FileUtils.deleteQuietly(manifestFile);
+    }
+
+    public File getManifestFile() {
+        return manifestFile;
+    }
+
+    private String createKey(final UploadTarget uploadTarget) {
+        // one code location can be made of several files, and one file can be uploaded to several code locations
+        return uploadTarget.getCodeLocationName() + File.pathSeparator + uploadTarget.getUploadFile().getAbsolutePath();
+    }
+
+    private ManifestContents load() throws HubIntegrationException {
+        if (!manifestFile.isFile()) {
+            return new ManifestContents();
+        }
+        try {
+            final ManifestContents loaded = gson.fromJson(FileUtils.readFileToString(manifestFile, StandardCharsets.UTF_8), ManifestContents.class);
+            return loaded != null && loaded.completedUploads != null ? loaded : new ManifestContents();
+        } catch (final IOException | JsonSyntaxException e) {
+            throw new HubIntegrationException(String.format("Could not read the upload manifest %s: %s", manifestFile.getAbsolutePath(), e.getMessage()), e);
+        }
+    }
+
+    private void save() throws HubIntegrationException {
+        final File manifestDirectory = manifestFile.getAbsoluteFile().getParentFile();
+        manifestDirectory.mkdirs();
+        File temporaryFile = null;
+        try {
+            temporaryFile = File.createTempFile(manifestFile.getName(), ".tmp", manifestDirectory);
+            FileUtils.writeStringToFile(temporaryFile, gson.toJson(manifestContents), StandardCharsets.UTF_8);
+            Files.move(temporaryFile.toPath(), manifestFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            FileUtils.deleteQuietly(temporaryFile);
+            throw new HubIntegrationException(String.format("Could not save the upload manifest %s: %s", manifestFile.getAbsolutePath(), e.getMessage()), e);
+        }
+    }
+
+    private static class ManifestContents {
+        private Map<String, CompletedUpload> completedUploads = new HashMap<>();
+    }
+
+    private static class CompletedUpload {
+        private String uploadFilePath;
+        private long length;
+        private long lastModified;
+        private String response;
+
+        public CompletedUpload(final File uploadFile, final String response) {
+            uploadFilePath = uploadFile.getAbsolutePath();
+            length = uploadFile.length();
+            lastModified = uploadFile.lastModified();
+            this.response = response;
+        }
+
+        public boolean matches(final File uploadFile) {
+            return uploadFile.getAbsolutePath().equals(uploadFilePath) && uploadFile.length() == length && uploadFile.lastModified() == lastModified;
+        }
+    }
+
+}
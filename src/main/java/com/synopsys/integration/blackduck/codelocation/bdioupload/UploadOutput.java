@@ -30,11 +30,19 @@ import com.synopsys.integration.blackduck.codelocation.Result;
 
 public class UploadOutput extends CodeLocationOutput {
     private final String response;
+    private final boolean alreadyUploaded;
 
     public static UploadOutput SUCCESS(final String codeLocationName, final String response) {
         return new UploadOutput(codeLocationName, Result.SUCCESS, response, null, null);
     }
 
+    /**
+     * A target that an earlier run already uploaded - it succeeded, but nothing was sent this time, so no new BOM will be computed for it.
+     */
+    public static UploadOutput ALREADY_UPLOADED(final String codeLocationName, final String response) {
+        return new UploadOutput(codeLocationName, Result.SUCCESS, response, null, null, true);
+    }
+
     public static UploadOutput FAILURE(final String codeLocationName, final String errorMessage, final Exception exception) {
         return new UploadOutput(codeLocationName, Result.FAILURE, null, errorMessage, exception);
     }
@@ -44,12 +52,21 @@ public class UploadOutput extends CodeLocationOutput {
     }
 
     private UploadOutput(final String codeLocationName, final Result result, final String response, final String errorMessage, final Exception exception) {
+        this(codeLocationName, result, response, errorMessage, exception, false);
+    }
+
+    private UploadOutput(final String codeLocationName, final Result result, final String response, final String errorMessage, final Exception exception, final boolean alreadyUploaded) {
         super(result, codeLocationName, errorMessage, exception);
         this.response = response;
+        this.alreadyUploaded = alreadyUploaded;
     }
 
     public Optional<String> getResponse() {
         return Optional.ofNullable(response);
     }
 
+    public boolean isAlreadyUploaded() {
+        return alreadyUploaded;
+    }
+
 }
@@ -0,0 +1,97 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.codelocation.bdioupload;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.http.HttpStatus;
+
+import com.synopsys.integration.rest.exception.IntegrationRestException;
+
+/**
+ * How often, and how patiently, a failed upload is tried again. Only failures that another attempt could fix are retried: connection
+ * problems and timeouts, 429 (too many requests) and 5xx responses. Retrying is opt-in: an UploadRunner created without a policy uses NO_RETRIES.
+ */
+public class UploadRetryPolicy {
+    public static final UploadRetryPolicy NO_RETRIES = new UploadRetryPolicy(1, 0, 0);
+    public static final UploadRetryPolicy DEFAULT = new UploadRetryPolicy(3, 2000, 30000);
+
+    private final int maximumAttempts;
+    private final long initialBackoffMillis;
+    private final long maximumBackoffMillis;
+
+    public UploadRetryPolicy(final int maximumAttempts, final long initialBackoffMillis, final long maximumBackoffMillis) {
+        if (maximumAttempts < 1) {
+            throw new IllegalArgumentException("An upload must be attempted at least once.");
+        }
+        this.maximumAttempts = maximumAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maximumBackoffMillis = maximumBackoffMillis;
+    }
+
+    public boolean isRetryable(final UploadOutput uploadOutput) {
+        final Optional<Exception> exception = uploadOutput.getException();
+        if (!exception.isPresent()) {
+            return false;
+        }
+        // the connection problems usually arrive wrapped in an IntegrationException, so the whole cause chain is checked
+        Throwable cause = exception.get();
+        while (cause != null) {
+            if (cause instanceof IntegrationRestException) {
+                final int httpStatusCode = ((IntegrationRestException) cause).getHttpStatusCode();
+                return httpStatusCode == 429 || httpStatusCode >= HttpStatus.SC_INTERNAL_SERVER_ERROR;
+            }
+            if (cause instanceof IOException) {
+                // this includes SocketTimeoutException
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    /**
+     * @param failedAttempts The number of attempts that have failed so far, starting at 1.
+     * @return The time to wait before the next attempt: the backoff doubles with each failure, and half of it is random so that the retries of a batch do not all land at once.
+     */
+    public long getBackoffMillis(final int failedAttempts) {
+        final long backoffMillis = Math.min(maximumBackoffMillis, initialBackoffMillis << Math.min(failedAttempts - 1, 20));
+        return backoffMillis / 2 + ThreadLocalRandom.current().nextLong(backoffMillis / 2 + 1);
+    }
+
+    public int getMaximumAttempts() {
+        return maximumAttempts;
+    }
+
+    public long getInitialBackoffMillis() {
+        return initialBackoffMillis;
+    }
+
+    public long getMaximumBackoffMillis() {
+        return maximumBackoffMillis;
+    }
+
+}
@@ -24,12 +24,19 @@
 package com.synopsys.integration.blackduck.codelocation.bdioupload;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
+import com.synopsys.integration.blackduck.codelocation.Result;
 import com.synopsys.integration.blackduck.exception.HubIntegrationException;
 import com.synopsys.integration.blackduck.service.HubService;
 import com.synopsys.integration.log.IntLogger;
@@ -38,47 +45,96 @@ public class UploadRunner {
     private final IntLogger logger;
     private final HubService hubService;
     private final Optional<ExecutorService> optionalExecutorService;
+    private final UploadRetryPolicy uploadRetryPolicy;
 
     public UploadRunner(final IntLogger logger, final HubService hubService) {
+        this(logger, hubService, UploadRetryPolicy.NO_RETRIES);
+    }
+
+    public UploadRunner(final IntLogger logger, final HubService hubService, final UploadRetryPolicy uploadRetryPolicy) {
         this.logger = logger;
         this.hubService = hubService;
+        this.uploadRetryPolicy = uploadRetryPolicy;
         optionalExecutorService = Optional.empty();
     }
 
     public UploadRunner(final IntLogger logger, final HubService hubService, final ExecutorService executorService) {
+        this(logger, hubService, executorService, UploadRetryPolicy.NO_RETRIES);
+    }
+
+    public UploadRunner(final IntLogger logger, final HubService hubService, final ExecutorService executorService, final UploadRetryPolicy uploadRetryPolicy) {
         this.logger = logger;
         this.hubService = hubService;
+        this.uploadRetryPolicy = uploadRetryPolicy;
         optionalExecutorService = Optional.of(executorService);
     }
 
     public UploadBatchOutput executeUploads(final UploadBatch uploadBatch) throws HubIntegrationException {
+        return executeUploads(uploadBatch, Optional.empty());
+    }
+
+    /**
+     * Only the targets that the manifest does not already record as uploaded are uploaded, and every successful upload is recorded in it.
+     */
+    public UploadBatchOutput executeUploads(final UploadBatch uploadBatch, final UploadManifest uploadManifest) throws HubIntegrationException {
+        return executeUploads(uploadBatch, Optional.of(uploadManifest));
+    }
+
+    private UploadBatchOutput executeUploads(final UploadBatch uploadBatch, final Optional<UploadManifest> uploadManifest) throws HubIntegrationException {
         logger.info("Starting the codelocation file uploads.");
-        final UploadBatchOutput uploadBatchOutput = uploadTargets(uploadBatch);
+        final UploadBatchOutput uploadBatchOutput = uploadTargets(uploadBatch, uploadManifest);
         logger.info("Completed the codelocation file uploads.");
 
         return uploadBatchOutput;
     }
 
-    private UploadBatchOutput uploadTargets(final UploadBatch uploadBatch) throws HubIntegrationException {
+    /**
+     * The outputs are in the order the uploads completed.
+     */
+    private UploadBatchOutput uploadTargets(final UploadBatch uploadBatch, final Optional<UploadManifest> uploadManifest) throws HubIntegrationException {
         final List<UploadOutput> uploadOutputs = new ArrayList<>();
 
         try {
-            final List<UploadCallable> callables = createCallables(uploadBatch);
+            final List<UploadTarget> uploadTargets = new ArrayList<>();
+            for (final UploadTarget uploadTarget : uploadBatch.getUploadTargets()) {
+                final Optional<UploadOutput> completedOutput = uploadManifest.flatMap(manifest -> manifest.getCompletedOutput(uploadTarget));
+                if (completedOutput.isPresent()) {
+                    logger.info(String.format("%s was already uploaded by an earlier run, so it will not be uploaded again.", uploadTarget.getCodeLocationName()));
+                    uploadOutputs.add(completedOutput.get());
+                } else {
+                    uploadTargets.add(uploadTarget);
+                }
+            }
+
+            final List<RetryingUploadCallable> callables = createCallables(uploadBatch, uploadTargets);
             if (optionalExecutorService.isPresent()) {
-                final ExecutorService executorService = optionalExecutorService.get();
-                final List<Future<UploadOutput>> submitted = new ArrayList<>();
-                for (final UploadCallable callable : callables) {
-                    submitted.add(executorService.submit(callable));
+                final CompletionService<UploadOutput> completionService = new ExecutorCompletionService<>(optionalExecutorService.get());
+                final Map<Future<UploadOutput>, UploadTarget> submittedTargets = new HashMap<>();
+                for (final RetryingUploadCallable callable : callables) {
+                    submittedTargets.put(completionService.submit(callable), callable.getUploadTarget());
                 }
-                for (final Future<UploadOutput> future : submitted) {
-                    final UploadOutput uploadOutput = future.get();
-                    uploadOutputs.add(uploadOutput);
+                try {
+                    for (int i = 0; i < callables.size(); i++) {
+                        final Future<UploadOutput> completedUpload = completionService.take();
+                        final UploadOutput uploadOutput = completedUpload.get();
+                        recordOutput(uploadManifest, submittedTargets.get(completedUpload), uploadOutput);
+                        uploadOutputs.add(uploadOutput);
+                    }
+                } catch (final Exception e) {
+                    // nobody is left to collect the other uploads, so they should not keep running
+                    submittedTargets.keySet().forEach(submittedUpload -> submittedUpload.cancel(true));
+                    throw e;
                 }
             } else {
-                for (final UploadCallable callable : callables) {
-                    uploadOutputs.add(callable.call());
+                for (final RetryingUploadCallable callable : callables) {
+                    final UploadOutput uploadOutput = callable.call();
+                    recordOutput(uploadManifest, callable.getUploadTarget(), uploadOutput);
+                    uploadOutputs.add(uploadOutput);
                 }
             }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HubIntegrationException(String.format("Interrupted while uploading the files: %s", e.getMessage()), e);
         } catch (final Exception e) {
             throw new HubIntegrationException(String.format("Encountered a problem uploading a file: %s", e.getMessage()), e);
         }
@@ -86,13 +142,48 @@ public class UploadRunner {
         return new UploadBatchOutput(uploadOutputs);
     }
 
-    private List<UploadCallable> createCallables(final UploadBatch uploadBatch) {
-        final List<UploadCallable> callables = uploadBatch.getUploadTargets()
-                                                       .stream()
-                                                       .map(uploadTarget -> new UploadCallable(hubService, uploadTarget))
-                                                       .collect(Collectors.toList());
+    private void recordOutput(final Optional<UploadManifest> uploadManifest, final UploadTarget uploadTarget, final UploadOutput uploadOutput) throws HubIntegrationException {
+        if (uploadManifest.isPresent() && Result.SUCCESS == uploadOutput.getResult()) {
+            uploadManifest.get().recordSuccess(uploadTarget, uploadOutput);
+        }
+    }
+
+    private List<RetryingUploadCallable> createCallables(final UploadBatch uploadBatch, final List<UploadTarget> uploadTargets) {
+        // once the server rejects a compressed upload there is no point in compressing the rest of the batch
+        final AtomicBoolean compressionRejected = new AtomicBoolean(false);
+        final List<RetryingUploadCallable> callables = uploadTargets
+                                                               .stream()
+                                                               .map(uploadTarget -> new UploadCallable(hubService, uploadTarget, uploadBatch.isCompressUploads() || uploadTarget.isCompressed(), compressionRejected))
+                                                               .map(RetryingUploadCallable::new)
+                                                               .collect(Collectors.toList());
 
         return callables;
     }
 
+    private class RetryingUploadCallable implements Callable<UploadOutput> {
+        private final UploadCallable uploadCallable;
+
+        public RetryingUploadCallable(final UploadCallable uploadCallable) {
+            this.uploadCallable = uploadCallable;
+        }
+
+        public UploadTarget getUploadTarget() {
+            return uploadCallable.getUploadTarget();
+        }
+
+        @Override
+        public UploadOutput call() throws InterruptedException {
+            int attempt = 1;
+            UploadOutput uploadOutput = uploadCallable.call();
+            while (attempt < uploadRetryPolicy.getMaximumAttempts() && uploadRetryPolicy.isRetryable(uploadOutput)) {
+                final long backoffMillis = uploadRetryPolicy.getBackoffMillis(attempt);
+                logger.warn(String.format("The upload of %s failed (%s), trying again in %d ms.", uploadOutput.getCodeLocationName(), uploadOutput.getErrorMessage().orElse("unknown error"), backoffMillis));
+                Thread.sleep(backoffMillis);
+                attempt++;
+                uploadOutput = uploadCallable.call();
+            }
+            return uploadOutput;
+        }
+    }
+
 }
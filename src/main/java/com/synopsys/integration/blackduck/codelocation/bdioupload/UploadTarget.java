@@ -31,16 +31,28 @@ public class UploadTarget {
     private final String codeLocationName;
     private final File uploadFile;
     private final String mediaType;
+    private final boolean compressed;
 
     public static UploadTarget createDefault(final String codeLocationName, final File uploadFile) {
-        return new UploadTarget(codeLocationName, uploadFile, "application/ld+json");
+        return new UploadTarget(codeLocationName, uploadFile, "application/ld+json", false);
     }
 
     public static UploadTarget createWithMediaType(final String codeLocationName, final File uploadFile, final String mediaType) {
-        return new UploadTarget(codeLocationName, uploadFile, mediaType);
+        return new UploadTarget(codeLocationName, uploadFile, mediaType, false);
     }
 
-    private UploadTarget(final String codeLocationName, final File uploadFile, final String mediaType) throws IllegalArgumentException {
+    /**
+     * The file will be gzipped as it is uploaded, or sent as is if the server does not accept the compressed upload.
+     */
+    public static UploadTarget createCompressed(final String codeLocationName, final File uploadFile) {
+        return new UploadTarget(codeLocationName, uploadFile, "application/ld+json", true);
+    }
+
+    public static UploadTarget createCompressedWithMediaType(final String codeLocationName, final File uploadFile, final String mediaType) {
+        return new UploadTarget(codeLocationName, uploadFile, mediaType, true);
+    }
+
+    private UploadTarget(final String codeLocationName, final File uploadFile, final String mediaType, final boolean compressed) throws IllegalArgumentException {
         if (StringUtils.isBlank(codeLocationName)) {
             throw new IllegalArgumentException("An UploadTarget must have a non-blank codeLocationName.");
         }
@@ -48,6 +60,7 @@ public class UploadTarget {
         this.codeLocationName = codeLocationName;
         this.uploadFile = uploadFile;
         this.mediaType = mediaType;
+        this.compressed = compressed;
     }
 
     public String getCodeLocationName() {
@@ -62,4 +75,8 @@ public class UploadTarget {
         return mediaType;
     }
 
+    public boolean isCompressed() {
+        return compressed;
+    }
+
 }
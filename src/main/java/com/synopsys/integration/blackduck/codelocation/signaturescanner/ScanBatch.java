@@ -60,10 +60,23 @@ public class ScanBatch extends Stringable {
     private final String projectName;
     private final String projectVersionName;
     private final List<ScanTarget> scanTargets;
+    private final long scanTimeoutInSeconds;
+    private final long batchTimeoutInSeconds;
 
     public ScanBatch(final File signatureScannerInstallDirectory, final File outputDirectory, final boolean cleanupOutput, final int scanMemoryInMegabytes, final boolean dryRun, final boolean debug, final boolean verbose,
             final String scanCliOpts, final String additionalScanArguments, final SnippetMatching snippetMatchingMode, final URL blackDuckUrl, final String blackDuckUsername, final String blackDuckPassword, final String blackDuckApiToken,
             final boolean shouldUseProxy, final ProxyInfo proxyInfo, final boolean alwaysTrustServerCertificate, final String projectName, final String projectVersionName, final List<ScanTarget> scanTargets) {
+        this(signatureScannerInstallDirectory, outputDirectory, cleanupOutput, scanMemoryInMegabytes, dryRun, debug, verbose, scanCliOpts, additionalScanArguments, snippetMatchingMode, blackDuckUrl, blackDuckUsername,
+                blackDuckPassword, blackDuckApiToken, shouldUseProxy, proxyInfo, alwaysTrustServerCertificate, projectName, projectVersionName, scanTargets, 0, 0);
+    }
+
+    /**
+     * A timeout of 0 means the scans, or the whole batch, may run for as long as they need.
+     */
+    public ScanBatch(final File signatureScannerInstallDirectory, final File outputDirectory, final boolean cleanupOutput, final int scanMemoryInMegabytes, final boolean dryRun, final boolean debug, final boolean verbose,
+            final String scanCliOpts, final String additionalScanArguments, final SnippetMatching snippetMatchingMode, final URL blackDuckUrl, final String blackDuckUsername, final String blackDuckPassword, final String blackDuckApiToken,
+            final boolean shouldUseProxy, final ProxyInfo proxyInfo, final boolean alwaysTrustServerCertificate, final String projectName, final String projectVersionName, final List<ScanTarget> scanTargets,
+            final long scanTimeoutInSeconds, final long batchTimeoutInSeconds) {
         this.signatureScannerInstallDirectory = signatureScannerInstallDirectory;
         this.outputDirectory = outputDirectory;
         this.cleanupOutput = cleanupOutput;
@@ -84,6 +97,8 @@ public class ScanBatch extends Stringable {
         this.projectName = projectName;
         this.projectVersionName = projectVersionName;
         this.scanTargets = scanTargets;
+        this.scanTimeoutInSeconds = scanTimeoutInSeconds;
+        this.batchTimeoutInSeconds = batchTimeoutInSeconds;
     }
 
     /**
@@ -219,4 +234,12 @@ public class ScanBatch extends Stringable {
         return scanTargets;
     }
 
+    public long getScanTimeoutInSeconds() {
+        return scanTimeoutInSeconds;
+    }
+
+    public long getBatchTimeoutInSeconds() {
+        return batchTimeoutInSeconds;
+    }
+
 }
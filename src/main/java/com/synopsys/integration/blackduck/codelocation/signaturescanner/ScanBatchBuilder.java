@@ -66,11 +66,14 @@ public class ScanBatchBuilder {
 
     private List<ScanTarget> scanTargets = new ArrayList<>();
 
+    private long scanTimeoutInSeconds;
+    private long batchTimeoutInSeconds;
+
     public ScanBatch build() throws IllegalArgumentException {
         assertValid();
 
         return new ScanBatch(installDirectory, outputDirectory, cleanupOutput, scanMemoryInMegabytes, dryRun, debug, verbose, scanCliOpts, additionalScanArguments, snippetMatching, blackDuckUrl, blackDuckUsername,
-                blackDuckPassword, blackDuckApiToken, shouldUseProxy, proxyInfo, alwaysTrustServerCertificate, projectName, projectVersionName, scanTargets);
+                blackDuckPassword, blackDuckApiToken, shouldUseProxy, proxyInfo, alwaysTrustServerCertificate, projectName, projectVersionName, scanTargets, scanTimeoutInSeconds, batchTimeoutInSeconds);
     }
 
     public void assertValid() throws IllegalArgumentException {
@@ -121,6 +124,10 @@ public class ScanBatchBuilder {
             errorMessages.add(String.format("The minimum amount of memory for the scan is %d MB.", MINIMUM_MEMORY_IN_MEGABYTES));
         }
 
+        if (scanTimeoutInSeconds < 0 || batchTimeoutInSeconds < 0) {
+            errorMessages.add("The scan and batch timeouts can not be negative.");
+        }
+
         if (!StringUtils.isAllBlank(projectName, projectVersionName) && (StringUtils.isBlank(projectName) || StringUtils.isBlank(projectVersionName))) {
             errorMessages.add("Both projectName and projectVersionName must be provided or omitted together");
         }
@@ -204,6 +211,24 @@ public class ScanBatchBuilder {
         return this;
     }
 
+    public long getScanTimeoutInSeconds() {
+        return scanTimeoutInSeconds;
+    }
+
+    public ScanBatchBuilder scanTimeoutInSeconds(final long scanTimeoutInSeconds) {
+        this.scanTimeoutInSeconds = scanTimeoutInSeconds;
+        return this;
+    }
+
+    public long getBatchTimeoutInSeconds() {
+        return batchTimeoutInSeconds;
+    }
+
+    public ScanBatchBuilder batchTimeoutInSeconds(final long batchTimeoutInSeconds) {
+        this.batchTimeoutInSeconds = batchTimeoutInSeconds;
+        return this;
+    }
+
     public boolean isDryRun() {
         return dryRun;
     }
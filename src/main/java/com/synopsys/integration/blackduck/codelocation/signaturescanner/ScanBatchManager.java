@@ -26,11 +26,13 @@ package com.synopsys.integration.blackduck.codelocation.signaturescanner;
 import java.io.File;
 import java.util.List;
 
+import com.synopsys.integration.blackduck.codelocation.signaturescanner.command.ScanCancellation;
 import com.synopsys.integration.blackduck.codelocation.signaturescanner.command.ScanCommand;
 import com.synopsys.integration.blackduck.codelocation.signaturescanner.command.ScanCommandOutput;
 import com.synopsys.integration.blackduck.codelocation.signaturescanner.command.ScanCommandRunner;
 import com.synopsys.integration.blackduck.codelocation.signaturescanner.command.ScanPaths;
 import com.synopsys.integration.blackduck.codelocation.signaturescanner.command.ScanPathsUtility;
+import com.synopsys.integration.blackduck.codelocation.signaturescanner.command.ScanProgressListener;
 import com.synopsys.integration.blackduck.codelocation.signaturescanner.command.ScannerZipInstaller;
 import com.synopsys.integration.blackduck.configuration.HubServerConfig;
 import com.synopsys.integration.blackduck.exception.HubIntegrationException;
@@ -77,6 +79,20 @@ public class ScanBatchManager {
     }
 
     public ScanBatchOutput executeScans(final ScanBatch scanBatch) throws HubIntegrationException {
+        return executeScans(scanBatch, ScanProgressListener.NONE);
+    }
+
+    /**
+     * The listener is told about the progress of every scan in the batch, as parsed from the scanner output.
+     */
+    public ScanBatchOutput executeScans(final ScanBatch scanBatch, final ScanProgressListener scanProgressListener) throws HubIntegrationException {
+        return executeScans(scanBatch, scanProgressListener, new ScanCancellation());
+    }
+
+    /**
+     * Calling cancel on the scan cancellation from another thread stops the scans of the batch that are still running or waiting.
+     */
+    public ScanBatchOutput executeScans(final ScanBatch scanBatch, final ScanProgressListener scanProgressListener, final ScanCancellation scanCancellation) throws HubIntegrationException {
         if (scannerZipInstaller != null) {
             // if an installer is specified, it will be used to install/update the scanner
             final File installDirectory = scanBatch.getSignatureScannerInstallDirectory();
@@ -96,7 +112,8 @@ public class ScanBatchManager {
         }
 
         final List<ScanCommand> scanCommands = scanBatch.createScanCommands(defaultInstallDirectory, scanPathsUtility, intEnvironmentVariables);
-        final List<ScanCommandOutput> scanCommandOutputs = scanCommandRunner.executeScans(scanCommands, scanBatch.isCleanupOutput());
+        final List<ScanCommandOutput> scanCommandOutputs = scanCommandRunner.executeScans(scanCommands, scanBatch.isCleanupOutput(), scanProgressListener, scanBatch.getScanTimeoutInSeconds(),
+                scanBatch.getBatchTimeoutInSeconds(), scanCancellation);
         return new ScanBatchOutput(scanCommandOutputs);
     }
 
@@ -0,0 +1,92 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.codelocation.signaturescanner.command;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Cancels the scans of one batch. Scans that are running have their scanner process tree killed and scans that have not started yet will not start. Use a new instance for every batch.
+ */
+public class ScanCancellation {
+    private final Set<Process> runningProcesses = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean cancelled;
+    private volatile boolean timedOut;
+
+    public void cancel() {
+        cancelled = true;
+        runningProcesses.forEach(ScanCancellation::destroyProcessTree);
+    }
+
+    /**
+     * Cancels the batch because it ran past its timeout, so the scans report a TIMEOUT result instead of a failure.
+     */
+    public void timeOut() {
+        timedOut = true;
+        cancel();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    void register(final Process process) {
+        runningProcesses.add(process);
+        // a cancel that raced with the registration could have missed this process
+        if (cancelled) {
+            destroyProcessTree(process);
+        }
+    }
+
+    void unregister(final Process process) {
+        runningProcesses.remove(process);
+    }
+
+    /**
+     * On Java 9 and newer the descendants of the process are killed as well. Java 8 can only kill the process itself.
+     */
+    static void destroyProcessTree(final Process process) {
+        try {
+            final Class<?> processHandleClass = Class.forName("java.lang.ProcessHandle");
+            final Stream<?> descendants = (Stream<?>) Process.class.getMethod("descendants").invoke(process);
+            descendants.forEach(processHandle -> {
+                try {
+                    processHandleClass.getMethod("destroyForcibly").invoke(processHandle);
+                } catch (final ReflectiveOperationException e) {
+                    // the descendant may already be gone
+                }
+            });
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            // process handles are not available on this JVM
+        }
+        process.destroyForcibly();
+    }
+
+}
@@ -23,13 +23,21 @@
  */
 package com.synopsys.integration.blackduck.codelocation.signaturescanner.command;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
@@ -42,23 +50,50 @@ import com.synopsys.integration.util.IntEnvironmentVariables;
 
 public class ScanCommandCallable implements Callable<ScanCommandOutput> {
     private static final List<String> DRY_RUN_FILES_TO_KEEP = Arrays.asList("data");
+    private static final long KILLED_PROCESS_OUTPUT_WAIT_IN_SECONDS = 30;
+    private static final long CLOSED_STREAM_WAIT_IN_SECONDS = 5;
 
     private final IntLogger logger;
     private final ScanPathsUtility scanPathsUtility;
     private final IntEnvironmentVariables intEnvironmentVariables;
     private final ScanCommand scanCommand;
     private final boolean cleanupOutput;
+    private final ScanProgressParser scanProgressParser;
+    private final long scanTimeoutInSeconds;
+    private final ScanCancellation scanCancellation;
 
     public ScanCommandCallable(final IntLogger logger, final ScanPathsUtility scanPathsUtility, final IntEnvironmentVariables intEnvironmentVariables, final ScanCommand scanCommand, final boolean cleanupOutput) {
+        this(logger, scanPathsUtility, intEnvironmentVariables, scanCommand, cleanupOutput, ScanProgressListener.NONE);
+    }
+
+    public ScanCommandCallable(final IntLogger logger, final ScanPathsUtility scanPathsUtility, final IntEnvironmentVariables intEnvironmentVariables, final ScanCommand scanCommand, final boolean cleanupOutput,
+            final ScanProgressListener scanProgressListener) {
+        this(logger, scanPathsUtility, intEnvironmentVariables, scanCommand, cleanupOutput, scanProgressListener, 0, new ScanCancellation());
+    }
+
+    /**
+     * A scan that runs longer than the timeout has its process tree killed and reports a TIMEOUT result. A timeout of 0 means no limit.
+     */
+    public ScanCommandCallable(final IntLogger logger, final ScanPathsUtility scanPathsUtility, final IntEnvironmentVariables intEnvironmentVariables, final ScanCommand scanCommand, final boolean cleanupOutput,
+            final ScanProgressListener scanProgressListener, final long scanTimeoutInSeconds, final ScanCancellation scanCancellation) {
         this.logger = logger;
         this.scanPathsUtility = scanPathsUtility;
         this.intEnvironmentVariables = intEnvironmentVariables;
         this.scanCommand = scanCommand;
         this.cleanupOutput = cleanupOutput;
+        scanProgressParser = new ScanProgressParser(logger, scanCommand.getName(), scanProgressListener);
+        this.scanTimeoutInSeconds = scanTimeoutInSeconds;
+        this.scanCancellation = scanCancellation;
     }
 
     @Override
     public ScanCommandOutput call() {
+        if (scanCancellation.isTimedOut()) {
+            return ScanCommandOutput.TIMEOUT(scanCommand.getName(), logger, scanCommand, String.format("The scan batch timed out before the scan of target '%s' could start.", scanCommand.getTargetPath()));
+        } else if (scanCancellation.isCancelled()) {
+            return ScanCommandOutput.FAILURE(scanCommand.getName(), logger, scanCommand, String.format("The scan batch was cancelled before the scan of target '%s' could start.", scanCommand.getTargetPath()), null);
+        }
+
         try {
             final ScanPaths scanPaths = scanPathsUtility.determineSignatureScannerPaths(scanCommand.getInstallDirectory());
 
@@ -69,7 +104,7 @@ public class ScanCommandCallable implements Callable<ScanCommandOutput> {
 
             final File standardOutFile = scanPathsUtility.createStandardOutFile(scanCommand.getOutputDirectory());
             try (FileOutputStream outputFileStream = new FileOutputStream(standardOutFile)) {
-                final ScannerSplitStream splitOutputStream = new ScannerSplitStream(logger, outputFileStream);
+                final ScannerSplitStream splitOutputStream = new ScannerSplitStream(logger, outputFileStream, ScannerSplitStream.DEFAULT_MAXIMUM_OUTPUT_LINES, scanProgressParser::parseLogEntry);
                 final ProcessBuilder processBuilder = new ProcessBuilder(cmd);
                 processBuilder.environment().putAll(intEnvironmentVariables.getVariables());
 
@@ -83,40 +118,63 @@ public class ScanCommandCallable implements Callable<ScanCommandOutput> {
                 processBuilder.environment().put("BD_HUB_NO_PROMPT", "true");
 
                 final Process hubCliProcess = processBuilder.start();
+                scanCancellation.register(hubCliProcess);
+                scanProgressParser.reportStarted(scanCommand.getTargetPath());
 
-                // The cli logs go the error stream for some reason
-                final StreamRedirectThread redirectThread = new StreamRedirectThread(hubCliProcess.getErrorStream(), splitOutputStream);
-                redirectThread.start();
+                // The cli logs go the error stream for some reason, stdout is drained at the same time so the cli never blocks on a full pipe
+                final ByteArrayOutputStream standardOutput = new ByteArrayOutputStream();
+                final RedirectTarget errorTarget = new RedirectTarget(splitOutputStream);
+                final RedirectTarget outputTarget = new RedirectTarget(standardOutput);
+                final Future<Long> errorRedirect = StreamRedirectThread.redirect(hubCliProcess.getErrorStream(), errorTarget);
+                final Future<Long> outputRedirect = StreamRedirectThread.redirect(hubCliProcess.getInputStream(), outputTarget);
 
                 int returnCode = -1;
+                boolean scanTimedOut = false;
                 try {
+                    if (scanTimeoutInSeconds > 0 && !hubCliProcess.waitFor(scanTimeoutInSeconds, TimeUnit.SECONDS)) {
+                        scanTimedOut = true;
+                        logger.error(String.format("The scan of target '%s' did not finish within %d seconds and will be stopped.", scanCommand.getTargetPath(), scanTimeoutInSeconds));
+                        ScanCancellation.destroyProcessTree(hubCliProcess);
+                    }
                     returnCode = hubCliProcess.waitFor();
 
-                    // the join method on the redirect thread will wait until the thread is dead
-                    // the thread will die when it reaches the end of stream and the run method is finished
-                    redirectThread.join();
+                    // the redirects finish when they reach the end of their streams, which a surviving child of a killed cli could keep open
+                    final boolean processKilled = scanTimedOut || scanCancellation.isCancelled();
+                    waitForRedirect(hubCliProcess.getErrorStream(), errorRedirect, processKilled);
+                    waitForRedirect(hubCliProcess.getInputStream(), outputRedirect, processKilled);
                 } finally {
+                    scanCancellation.unregister(hubCliProcess);
                     if (hubCliProcess.isAlive()) {
-                        hubCliProcess.destroy();
-                    }
-                    if (redirectThread.isAlive()) {
-                        redirectThread.interrupt();
+                        ScanCancellation.destroyProcessTree(hubCliProcess);
                     }
+                    IOUtils.closeQuietly(hubCliProcess.getErrorStream());
+                    IOUtils.closeQuietly(hubCliProcess.getInputStream());
+                    // a redirect still stuck in read() can not write to the outputs any more, so they are safe to use from here on
+                    errorTarget.detach();
+                    outputTarget.detach();
                 }
 
                 splitOutputStream.flush();
+                scanProgressParser.reportCompleted(returnCode);
 
-                logger.info(IOUtils.toString(hubCliProcess.getInputStream(), StandardCharsets.UTF_8));
+                logger.info(new String(standardOutput.toByteArray(), StandardCharsets.UTF_8));
 
                 logger.info("Black Duck Signature Scanner return code: " + returnCode);
                 logger.info("You can view the logs at: '" + scanCommand.getOutputDirectory().getCanonicalPath() + "'");
 
-                if (returnCode != 0) {
+                if (scanTimedOut) {
+                    return ScanCommandOutput.TIMEOUT(scanCommand.getName(), logger, scanCommand, String.format("The scan of target '%s' did not finish within %d seconds.", scanCommand.getTargetPath(), scanTimeoutInSeconds));
+                } else if (scanCancellation.isTimedOut()) {
+                    return ScanCommandOutput.TIMEOUT(scanCommand.getName(), logger, scanCommand, String.format("The scan batch timed out while scanning target '%s'.", scanCommand.getTargetPath()));
+                } else if (scanCancellation.isCancelled()) {
+                    return ScanCommandOutput.FAILURE(scanCommand.getName(), logger, scanCommand, String.format("The scan batch was cancelled while scanning target '%s'.", scanCommand.getTargetPath()), null);
+                } else if (returnCode != 0) {
                     return ScanCommandOutput.FAILURE(scanCommand.getName(), logger, scanCommand, returnCode);
                 }
             }
         } catch (final Exception e) {
             final String errorMessage = String.format("There was a problem scanning target '%s': %s", scanCommand.getTargetPath(), e.getMessage());
+            scanProgressParser.reportError(errorMessage);
             return ScanCommandOutput.FAILURE(scanCommand.getName(), logger, scanCommand, errorMessage, e);
         }
 
@@ -135,6 +193,26 @@ public class ScanCommandCallable implements Callable<ScanCommandOutput> {
         return ScanCommandOutput.SUCCESS(scanCommand.getName(), logger, scanCommand);
     }
 
+    private void waitForRedirect(final InputStream processStream, final Future<Long> redirect, final boolean processKilled) throws InterruptedException {
+        try {
+            if (!processKilled) {
+                redirect.get();
+                return;
+            }
+            try {
+                redirect.get(KILLED_PROCESS_OUTPUT_WAIT_IN_SECONDS, TimeUnit.SECONDS);
+            } catch (final TimeoutException e) {
+                // cancelling the redirect would not unblock its read(), closing the stream can
+                IOUtils.closeQuietly(processStream);
+                redirect.get(CLOSED_STREAM_WAIT_IN_SECONDS, TimeUnit.SECONDS);
+            }
+        } catch (final ExecutionException e) {
+            logger.debug(String.format("The scan cli output could not be fully read: %s", e.getCause().getMessage()));
+        } catch (final TimeoutException e) {
+            logger.debug("The output of the stopped scan cli was still open and will not be read any further.");
+        }
+    }
+
     /**
      * Code to mask passwords in the logs
      */
@@ -171,4 +249,40 @@ public class ScanCommandCallable implements Callable<ScanCommandOutput> {
         }
     }
 
+    /**
+     * Where a redirect writes to, until it is detached. A redirect can stay blocked in read() for as long as a surviving child of a killed cli
+     * keeps its stream open, and closing the stream does not wake it on every platform - once detached, its next write fails and it stops,
+     * without ever touching the output again.
+     */
+    private static class RedirectTarget extends OutputStream {
+        private final OutputStream out;
+        private boolean detached;
+
+        public RedirectTarget(final OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public synchronized void write(final int b) throws IOException {
+            ensureAttached();
+            out.write(b);
+        }
+
+        @Override
+        public synchronized void write(final byte[] b, final int off, final int len) throws IOException {
+            ensureAttached();
+            out.write(b, off, len);
+        }
+
+        public synchronized void detach() {
+            detached = true;
+        }
+
+        private void ensureAttached() throws IOException {
+            if (detached) {
+                throw new IOException("The scan cli output is no longer being read.");
+            }
+        }
+    }
+
 }
@@ -53,6 +53,10 @@ public class ScanCommandOutput extends CodeLocationOutput {
         return new ScanCommandOutput(codeLocationName, Result.FAILURE, logger, scanCommand, errorMessage, null, Integer.valueOf(scanExitCode));
     }
 
+    public static ScanCommandOutput TIMEOUT(final String codeLocationName, final IntLogger logger, final ScanCommand scanCommand, final String errorMessage) {
+        return new ScanCommandOutput(codeLocationName, Result.TIMEOUT, logger, scanCommand, errorMessage, null, null);
+    }
+
     private ScanCommandOutput(final String codeLocationName, final Result result, final IntLogger logger, final ScanCommand scanCommand, final String errorMessage, final Exception exception, final Integer scanExitCode) {
         super(result, codeLocationName, errorMessage, exception);
         this.logger = logger;
@@ -24,10 +24,16 @@
 package com.synopsys.integration.blackduck.codelocation.signaturescanner.command;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import com.synopsys.integration.blackduck.exception.ScanFailedException;
@@ -39,12 +45,14 @@ public class ScanCommandRunner {
     private final IntEnvironmentVariables intEnvironmentVariables;
     private final ScanPathsUtility scanPathsUtility;
     private final Optional<ExecutorService> optionalExecutorService;
+    private final Optional<ScanCommandScheduler> optionalScanCommandScheduler;
 
     public ScanCommandRunner(final IntLogger logger, final IntEnvironmentVariables intEnvironmentVariables, final ScanPathsUtility scanPathsUtility) {
         this.logger = logger;
         this.intEnvironmentVariables = intEnvironmentVariables;
         this.scanPathsUtility = scanPathsUtility;
         optionalExecutorService = Optional.empty();
+        optionalScanCommandScheduler = Optional.empty();
     }
 
     public ScanCommandRunner(final IntLogger logger, final IntEnvironmentVariables intEnvironmentVariables, final ScanPathsUtility scanPathsUtility, final ExecutorService executorService) {
@@ -52,21 +60,71 @@ public class ScanCommandRunner {
         this.intEnvironmentVariables = intEnvironmentVariables;
         this.scanPathsUtility = scanPathsUtility;
         optionalExecutorService = Optional.of(executorService);
+        optionalScanCommandScheduler = Optional.empty();
+    }
+
+    /**
+     * Scans are handed to the executor only once the scheduler admits them, largest scans first.
+     */
+    public ScanCommandRunner(final IntLogger logger, final IntEnvironmentVariables intEnvironmentVariables, final ScanPathsUtility scanPathsUtility, final ExecutorService executorService,
+            final ScanCommandScheduler scanCommandScheduler) {
+        this.logger = logger;
+        this.intEnvironmentVariables = intEnvironmentVariables;
+        this.scanPathsUtility = scanPathsUtility;
+        optionalExecutorService = Optional.of(executorService);
+        optionalScanCommandScheduler = Optional.of(scanCommandScheduler);
     }
 
     public List<ScanCommandOutput> executeScans(final List<ScanCommand> scanCommands, final boolean cleanupOutput) throws ScanFailedException {
+        return executeScans(scanCommands, cleanupOutput, ScanProgressListener.NONE);
+    }
+
+    public List<ScanCommandOutput> executeScans(final List<ScanCommand> scanCommands, final boolean cleanupOutput, final ScanProgressListener scanProgressListener) throws ScanFailedException {
+        return executeScans(scanCommands, cleanupOutput, scanProgressListener, 0, 0, new ScanCancellation());
+    }
+
+    /**
+     * A scan that runs past the scan timeout reports a TIMEOUT result while the rest of the batch continues. Once the batch timeout passes, every scan still running or waiting reports a TIMEOUT result. A timeout of 0 means no limit.
+     */
+    public List<ScanCommandOutput> executeScans(final List<ScanCommand> scanCommands, final boolean cleanupOutput, final ScanProgressListener scanProgressListener, final long scanTimeoutInSeconds, final long batchTimeoutInSeconds,
+            final ScanCancellation scanCancellation) throws ScanFailedException {
         logger.info("Starting the Black Duck Signature Scan commands.");
-        final List<ScanCommandOutput> scanCommandOutputs = executeCommands(scanCommands, cleanupOutput);
+        ScheduledExecutorService batchTimeoutExecutorService = null;
+        if (batchTimeoutInSeconds > 0) {
+            batchTimeoutExecutorService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "Scan Batch Timeout");
+                thread.setDaemon(true);
+                return thread;
+            });
+            batchTimeoutExecutorService.schedule(() -> {
+                logger.error(String.format("The scan batch did not finish within %d seconds and the remaining scans will be stopped.", batchTimeoutInSeconds));
+                scanCancellation.timeOut();
+            }, batchTimeoutInSeconds, TimeUnit.SECONDS);
+        }
+
+        final List<ScanCommandOutput> scanCommandOutputs;
+        try {
+            scanCommandOutputs = executeCommands(scanCommands, cleanupOutput, scanProgressListener, scanTimeoutInSeconds, scanCancellation);
+        } finally {
+            if (null != batchTimeoutExecutorService) {
+                batchTimeoutExecutorService.shutdownNow();
+            }
+        }
         logger.info("Completed the Black Duck Signature Scan commands.");
 
         return scanCommandOutputs;
     }
 
-    private List<ScanCommandOutput> executeCommands(final List<ScanCommand> scanCommands, final boolean cleanupOutput) throws ScanFailedException {
+    private List<ScanCommandOutput> executeCommands(final List<ScanCommand> scanCommands, final boolean cleanupOutput, final ScanProgressListener scanProgressListener, final long scanTimeoutInSeconds,
+            final ScanCancellation scanCancellation) throws ScanFailedException {
         final List<ScanCommandOutput> scanCommandOutputs = new ArrayList<>();
 
         try {
-            final List<ScanCommandCallable> callables = createCallables(scanCommands, cleanupOutput);
+            if (optionalExecutorService.isPresent() && optionalScanCommandScheduler.isPresent()) {
+                return executeScheduledCommands(optionalExecutorService.get(), optionalScanCommandScheduler.get(), scanCommands, cleanupOutput, scanProgressListener, scanTimeoutInSeconds, scanCancellation);
+            }
+
+            final List<ScanCommandCallable> callables = createCallables(scanCommands, cleanupOutput, scanProgressListener, scanTimeoutInSeconds, scanCancellation);
             if (optionalExecutorService.isPresent()) {
                 final ExecutorService executorService = optionalExecutorService.get();
                 final List<Future<ScanCommandOutput>> submitted = new ArrayList<>();
@@ -91,8 +149,47 @@ public class ScanCommandRunner {
         return scanCommandOutputs;
     }
 
-    private List<ScanCommandCallable> createCallables(final List<ScanCommand> scanCommands, final boolean cleanupOutput) {
-        final List<ScanCommandCallable> callables = scanCommands.stream().map(scanCommand -> new ScanCommandCallable(logger, scanPathsUtility, intEnvironmentVariables, scanCommand, cleanupOutput)).collect(Collectors.toList());
+    private List<ScanCommandOutput> executeScheduledCommands(final ExecutorService executorService, final ScanCommandScheduler scanCommandScheduler, final List<ScanCommand> scanCommands, final boolean cleanupOutput,
+            final ScanProgressListener scanProgressListener, final long scanTimeoutInSeconds, final ScanCancellation scanCancellation) throws InterruptedException, ExecutionException {
+        final Map<ScanCommand, Future<ScanCommandOutput>> submitted = new HashMap<>();
+        final long queueStartTime = System.currentTimeMillis();
+        long totalQueueWaitMillis = 0;
+        for (final ScanCommand scanCommand : scanCommandScheduler.orderLargestScansFirst(scanCommands)) {
+            final ScanCommandCallable callable = new ScanCommandCallable(logger, scanPathsUtility, intEnvironmentVariables, scanCommand, cleanupOutput, scanProgressListener, scanTimeoutInSeconds, scanCancellation);
+            scanCommandScheduler.admit(scanCommand);
+            final long queueWaitMillis = System.currentTimeMillis() - queueStartTime;
+            totalQueueWaitMillis += queueWaitMillis;
+            logger.info(String.format("Starting the scan of %s after %d ms in the queue.", scanCommand.getTargetPath(), queueWaitMillis));
+            try {
+                submitted.put(scanCommand, executorService.submit(() -> {
+                    try {
+                        return callable.call();
+                    } finally {
+                        scanCommandScheduler.release(scanCommand);
+                    }
+                }));
+            } catch (final RuntimeException e) {
+                scanCommandScheduler.release(scanCommand);
+                throw e;
+            }
+        }
+        if (!scanCommands.isEmpty()) {
+            logger.info(String.format("The scans spent an average of %d ms in the queue.", totalQueueWaitMillis / scanCommands.size()));
+        }
+
+        final List<ScanCommandOutput> scanCommandOutputs = new ArrayList<>();
+        for (final ScanCommand scanCommand : scanCommands) {
+            final ScanCommandOutput scanCommandOutput = submitted.get(scanCommand).get();
+            if (scanCommandOutput != null) {
+                scanCommandOutputs.add(scanCommandOutput);
+            }
+        }
+        return scanCommandOutputs;
+    }
+
+    private List<ScanCommandCallable> createCallables(final List<ScanCommand> scanCommands, final boolean cleanupOutput, final ScanProgressListener scanProgressListener, final long scanTimeoutInSeconds,
+            final ScanCancellation scanCancellation) {
+        final List<ScanCommandCallable> callables = scanCommands.stream().map(scanCommand -> new ScanCommandCallable(logger, scanPathsUtility, intEnvironmentVariables, scanCommand, cleanupOutput, scanProgressListener, scanTimeoutInSeconds, scanCancellation)).collect(Collectors.toList());
 
         return callables;
     }
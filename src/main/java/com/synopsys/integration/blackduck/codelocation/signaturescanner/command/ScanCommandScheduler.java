@@ -0,0 +1,126 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.codelocation.signaturescanner.command;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+
+import com.synopsys.integration.log.IntLogger;
+
+/**
+ * Admits scans so that the heap of all running scan CLI processes stays within the configured total scan memory and no more scans run than there are scan slots.
+ * Scans asking for more than the total scan memory are admitted alone rather than never.
+ */
+public class ScanCommandScheduler {
+    private final IntLogger logger;
+    private final long totalScanMemoryInMegabytes;
+    private final int scanSlots;
+
+    private long memoryInUseInMegabytes;
+    private int scansRunning;
+
+    public ScanCommandScheduler(final IntLogger logger, final long totalScanMemoryInMegabytes, final int scanSlots) {
+        if (totalScanMemoryInMegabytes <= 0) {
+            throw new IllegalArgumentException("The total scan memory must be greater than 0.");
+        }
+        if (scanSlots <= 0) {
+            throw new IllegalArgumentException("The number of scan slots must be greater than 0.");
+        }
+        this.logger = logger;
+        this.totalScanMemoryInMegabytes = totalScanMemoryInMegabytes;
+        this.scanSlots = scanSlots;
+    }
+
+    /**
+     * Uses the physical memory of this machine, when the JVM reports it, and one scan slot per available processor.
+     */
+    public static ScanCommandScheduler createForThisMachine(final IntLogger logger) {
+        final int availableProcessors = Runtime.getRuntime().availableProcessors();
+        long totalMemoryInBytes = Runtime.getRuntime().maxMemory();
+        final OperatingSystemMXBean operatingSystemMXBean = ManagementFactory.getOperatingSystemMXBean();
+        if (operatingSystemMXBean instanceof com.sun.management.OperatingSystemMXBean) {
+            totalMemoryInBytes = ((com.sun.management.OperatingSystemMXBean) operatingSystemMXBean).getTotalPhysicalMemorySize();
+        }
+        final long totalMemoryInMegabytes = Math.max(1, totalMemoryInBytes / FileUtils.ONE_MB);
+        return new ScanCommandScheduler(logger, totalMemoryInMegabytes, availableProcessors);
+    }
+
+    /**
+     * Orders the scans by the scan memory they ask for, largest first, so the longest scans are not left to run alone at the end of a batch.
+     * The scan memory is the caller's own estimate of how big a scan is - the targets themselves are not walked, since that could take as long
+     * as a scan and fail on unreadable files. Scans asking for the same memory keep their order.
+     */
+    public List<ScanCommand> orderLargestScansFirst(final List<ScanCommand> scanCommands) {
+        final List<ScanCommand> orderedScanCommands = new ArrayList<>(scanCommands);
+        orderedScanCommands.sort(Comparator.comparingInt(ScanCommand::getScanMemoryInMegabytes).reversed());
+        return orderedScanCommands;
+    }
+
+    /**
+     * Blocks until there is a free scan slot and enough scan memory for the scan.
+     */
+    public synchronized void admit(final ScanCommand scanCommand) throws InterruptedException {
+        final long requiredMemoryInMegabytes = getRequiredMemoryInMegabytes(scanCommand);
+        if (scansRunning >= scanSlots || memoryInUseInMegabytes + requiredMemoryInMegabytes > totalScanMemoryInMegabytes) {
+            logger.debug(String.format("The scan of %s is waiting for %d MB of scan memory and a scan slot.", scanCommand.getTargetPath(), requiredMemoryInMegabytes));
+        }
+        while (scansRunning >= scanSlots || memoryInUseInMegabytes + requiredMemoryInMegabytes > totalScanMemoryInMegabytes) {
+            wait();
+        }
+        scansRunning++;
+        memoryInUseInMegabytes += requiredMemoryInMegabytes;
+    }
+
+    public synchronized void release(final ScanCommand scanCommand) {
+        scansRunning--;
+        memoryInUseInMegabytes -= getRequiredMemoryInMegabytes(scanCommand);
+        notifyAll();
+    }
+
+    public synchronized int getScansRunning() {
+        return scansRunning;
+    }
+
+    public synchronized long getMemoryInUseInMegabytes() {
+        return memoryInUseInMegabytes;
+    }
+
+    public long getTotalScanMemoryInMegabytes() {
+        return totalScanMemoryInMegabytes;
+    }
+
+    public int getScanSlots() {
+        return scanSlots;
+    }
+
+    private long getRequiredMemoryInMegabytes(final ScanCommand scanCommand) {
+        return Math.min(Math.max(0, scanCommand.getScanMemoryInMegabytes()), totalScanMemoryInMegabytes);
+    }
+
+}
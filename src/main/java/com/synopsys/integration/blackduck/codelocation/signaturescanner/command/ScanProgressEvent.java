@@ -0,0 +1,88 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.codelocation.signaturescanner.command;
+
+import java.util.Date;
+import java.util.Optional;
+
+import com.synopsys.integration.util.Stringable;
+
+public class ScanProgressEvent extends Stringable {
+    private final ScanProgressEventType type;
+    private final String codeLocationName;
+    private final Date timestamp;
+    private final String message;
+    private final String phase;
+    private final Long filesScanned;
+    private final Long durationInMilliseconds;
+    private final Integer returnCode;
+
+    public ScanProgressEvent(final ScanProgressEventType type, final String codeLocationName, final Date timestamp, final String message, final String phase, final Long filesScanned, final Long durationInMilliseconds,
+            final Integer returnCode) {
+        this.type = type;
+        this.codeLocationName = codeLocationName;
+        this.timestamp = timestamp;
+        this.message = message;
+        this.phase = phase;
+        this.filesScanned = filesScanned;
+        this.durationInMilliseconds = durationInMilliseconds;
+        this.returnCode = returnCode;
+    }
+
+    public ScanProgressEventType getType() {
+        return type;
+    }
+
+    public String getCodeLocationName() {
+        return codeLocationName;
+    }
+
+    public Date getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * The scanner output the event was parsed from, or a description for events the scanner did not log.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    public Optional<String> getPhase() {
+        return Optional.ofNullable(phase);
+    }
+
+    public Optional<Long> getFilesScanned() {
+        return Optional.ofNullable(filesScanned);
+    }
+
+    public Optional<Long> getDurationInMilliseconds() {
+        return Optional.ofNullable(durationInMilliseconds);
+    }
+
+    public Optional<Integer> getReturnCode() {
+        return Optional.ofNullable(returnCode);
+    }
+
+}
@@ -0,0 +1,158 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.codelocation.signaturescanner.command;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.synopsys.integration.log.IntLogger;
+
+/**
+ * Turns the log entries of one scan into progress events for a listener. Only the lines the scanner is known to write are recognized - an
+ * ERROR entry, or an exception the scanner printed on its own, is an error, and the progress events come from INFO entries (or the
+ * unprefixed "Finished in" summary). Anything else, including every WARN entry, produces no event.
+ */
+public class ScanProgressParser {
+    private static final String EXCEPTION_IN_THREAD = "Exception in thread";
+
+    private static final Pattern LOG_LEVEL_PATTERN = Pattern.compile("^(ERROR|WARN|INFO|DEBUG|TRACE):\\s*");
+    private static final Pattern EXCEPTION_PATTERN = Pattern.compile("^(?:[a-zA-Z_$][\\w$]*\\.)+[\\w$]*(?:Exception|Error)(?::|$)");
+    private static final Pattern FINISHED_PATTERN = Pattern.compile("^(?:Finished in|Total time:)\\s+([\\d.,]+)\\s*(ms|milliseconds?|s|secs?|seconds?|m|mins?|minutes?)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern UPLOAD_FINISHED_PATTERN = Pattern.compile("^(?:Upload (?:complete|completed|finished|succeeded)|Successfully uploaded|Persisted in)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern UPLOAD_STARTED_PATTERN = Pattern.compile("^(?:Uploading (?:the )?scan (?:results|data|file)|Persisting scan results to the server|Starting (?:the )?upload)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern FILES_SCANNED_PATTERN = Pattern.compile("^(?:Scanned|Processed) ([\\d,]+) files?\\b|^Scan result:.*\\bNum Non-Dir Files:\\s*([\\d,]+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern PHASE_PATTERN = Pattern.compile("^(?:Phase:\\s*(.+?)|Starting (?:the )?((?:signature|snippet|binary|post) scan|scan)\\b.*?|(Post Scan))[.:]*$", Pattern.CASE_INSENSITIVE);
+
+    private final IntLogger logger;
+    private final String codeLocationName;
+    private final ScanProgressListener scanProgressListener;
+
+    public ScanProgressParser(final IntLogger logger, final String codeLocationName, final ScanProgressListener scanProgressListener) {
+        this.logger = logger;
+        this.codeLocationName = codeLocationName;
+        this.scanProgressListener = scanProgressListener;
+    }
+
+    public void reportStarted(final String targetPath) {
+        publish(new ScanProgressEvent(ScanProgressEventType.STARTED, codeLocationName, new Date(), String.format("Started scanning %s", targetPath), null, null, null, null));
+    }
+
+    public void reportCompleted(final int returnCode) {
+        publish(new ScanProgressEvent(ScanProgressEventType.COMPLETED, codeLocationName, new Date(), String.format("The scan completed with return code %d", returnCode), null, null, null, returnCode));
+    }
+
+    public void reportError(final String errorMessage) {
+        publish(new ScanProgressEvent(ScanProgressEventType.ERROR, codeLocationName, new Date(), errorMessage, null, null, null, null));
+    }
+
+    public void parseLogEntry(final String logEntry) {
+        if (StringUtils.isBlank(logEntry)) {
+            return;
+        }
+        createEvent(logEntry.trim()).ifPresent(this::publish);
+    }
+
+    private Optional<ScanProgressEvent> createEvent(final String logEntry) {
+        final Date timestamp = new Date();
+        final String firstLine = StringUtils.substringBefore(logEntry, "\n").trim();
+        final Matcher logLevelMatcher = LOG_LEVEL_PATTERN.matcher(firstLine);
+        final String logLevel = logLevelMatcher.find() ? logLevelMatcher.group(1) : null;
+        if ("ERROR".equals(logLevel) || (null == logLevel && isException(firstLine))) {
+            return Optional.of(new ScanProgressEvent(ScanProgressEventType.ERROR, codeLocationName, timestamp, logEntry, null, null, null, null));
+        }
+        if (null != logLevel && !"INFO".equals(logLevel)) {
+            return Optional.empty();
+        }
+
+        final String message = logLevelMatcher.replaceFirst("");
+
+        final Matcher finishedMatcher = FINISHED_PATTERN.matcher(message);
+        if (finishedMatcher.find()) {
+            final Long durationInMilliseconds = parseDuration(finishedMatcher.group(1), finishedMatcher.group(2));
+            return Optional.of(new ScanProgressEvent(ScanProgressEventType.FINISHED, codeLocationName, timestamp, logEntry, null, null, durationInMilliseconds, null));
+        }
+        if (null == logLevel) {
+            return Optional.empty();
+        }
+        if (UPLOAD_FINISHED_PATTERN.matcher(message).find()) {
+            return Optional.of(new ScanProgressEvent(ScanProgressEventType.UPLOAD_FINISHED, codeLocationName, timestamp, logEntry, null, null, null, null));
+        }
+        if (UPLOAD_STARTED_PATTERN.matcher(message).find()) {
+            return Optional.of(new ScanProgressEvent(ScanProgressEventType.UPLOAD_STARTED, codeLocationName, timestamp, logEntry, null, null, null, null));
+        }
+
+        final Matcher filesScannedMatcher = FILES_SCANNED_PATTERN.matcher(message);
+        if (filesScannedMatcher.find()) {
+            final String count = null != filesScannedMatcher.group(1) ? filesScannedMatcher.group(1) : filesScannedMatcher.group(2);
+            final Long filesScanned = Long.valueOf(count.replace(",", ""));
+            return Optional.of(new ScanProgressEvent(ScanProgressEventType.FILES_SCANNED, codeLocationName, timestamp, logEntry, null, filesScanned, null, null));
+        }
+
+        final Matcher phaseMatcher = PHASE_PATTERN.matcher(message);
+        if (phaseMatcher.find()) {
+            final String phase = null != phaseMatcher.group(1) ? phaseMatcher.group(1) : null != phaseMatcher.group(2) ? phaseMatcher.group(2) : phaseMatcher.group(3);
+            return Optional.of(new ScanProgressEvent(ScanProgressEventType.PHASE_CHANGED, codeLocationName, timestamp, logEntry, phase.trim(), null, null, null));
+        }
+
+        return Optional.empty();
+    }
+
+    private boolean isException(final String line) {
+        // the scanner prints uncaught exceptions, and the exceptions it fails with, without a log level
+        return line.startsWith(EXCEPTION_IN_THREAD) || EXCEPTION_PATTERN.matcher(line).find();
+    }
+
+    private Long parseDuration(final String amount, final String unit) {
+        final double value;
+        try {
+            value = Double.parseDouble(amount.replace(",", ""));
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+
+        final String lowerCaseUnit = StringUtils.defaultString(unit, "ms").toLowerCase();
+        if (lowerCaseUnit.startsWith("ms") || lowerCaseUnit.startsWith("milli")) {
+            return Math.round(value);
+        } else if (lowerCaseUnit.startsWith("s")) {
+            return Math.round(value * TimeUnit.SECONDS.toMillis(1));
+        } else {
+            return Math.round(value * TimeUnit.MINUTES.toMillis(1));
+        }
+    }
+
+    private void publish(final ScanProgressEvent scanProgressEvent) {
+        try {
+            scanProgressListener.onScanProgress(scanProgressEvent);
+        } catch (final RuntimeException e) {
+            // a misbehaving listener should never fail the scan
+            logger.debug(String.format("The scan progress listener failed: %s", e.getMessage()));
+        }
+    }
+
+}
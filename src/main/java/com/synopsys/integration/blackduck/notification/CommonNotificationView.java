@@ -24,12 +24,14 @@
 package com.synopsys.integration.blackduck.notification;
 
 import java.util.Date;
+import java.util.Optional;
 
 import com.synopsys.integration.blackduck.api.core.HubView;
 import com.synopsys.integration.blackduck.api.generated.enumeration.NotificationStateRequestStateType;
 import com.synopsys.integration.blackduck.api.generated.enumeration.NotificationType;
 import com.synopsys.integration.blackduck.api.generated.view.NotificationUserView;
 import com.synopsys.integration.blackduck.api.generated.view.NotificationView;
+import com.synopsys.integration.blackduck.notification.content.NotificationContent;
 
 /**
  * This is a flattened view of both NotificationView and NotificationUserView and must be manually maintained to support both views and their api. The only common class between both views is HubView which is why sourceView is of that type,
@@ -41,23 +43,37 @@ public class CommonNotificationView extends HubView {
     private final Date createdAt;
     private final NotificationType type;
     private final NotificationStateRequestStateType notificationState;
+    private final NotificationContent notificationContent;
 
     public CommonNotificationView(final NotificationView notificationView) {
+        this(notificationView, null);
+    }
+
+    /**
+     * @param notificationContent The already parsed content of the notification, so that generating its details does not need to read the json again.
+     */
+    public CommonNotificationView(final NotificationView notificationView, final NotificationContent notificationContent) {
         sourceView = notificationView;
         contentType = notificationView.contentType;
         createdAt = notificationView.createdAt;
         type = notificationView.type;
         notificationState = null;
+        this.notificationContent = notificationContent;
         _meta = notificationView._meta;
         json = notificationView.json;
     }
 
     public CommonNotificationView(final NotificationUserView notificationUserView) {
+        this(notificationUserView, null);
+    }
+
+    public CommonNotificationView(final NotificationUserView notificationUserView, final NotificationContent notificationContent) {
         sourceView = notificationUserView;
         contentType = notificationUserView.contentType;
         createdAt = notificationUserView.createdAt;
         type = notificationUserView.type;
         notificationState = notificationUserView.notificationState;
+        this.notificationContent = notificationContent;
         _meta = notificationUserView._meta;
         json = notificationUserView.json;
     }
@@ -82,4 +98,8 @@ public class CommonNotificationView extends HubView {
         return notificationState;
     }
 
+    public Optional<NotificationContent> getNotificationContent() {
+        return Optional.ofNullable(notificationContent);
+    }
+
 }
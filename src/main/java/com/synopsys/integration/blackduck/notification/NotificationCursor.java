@@ -0,0 +1,108 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.notification;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.synopsys.integration.blackduck.api.core.HubView;
+import com.synopsys.integration.blackduck.api.generated.view.NotificationView;
+import com.synopsys.integration.util.Stringable;
+
+/**
+ * The high-water mark of the notifications that have been processed: the latest createdAt seen, and the hrefs of every notification seen with
+ * exactly that createdAt. Notifications created at the same instant as the mark can arrive in different polls, so the hrefs are what let a
+ * query that starts at the mark skip the notifications that were already processed.
+ */
+public class NotificationCursor extends Stringable {
+    private final long lastCreatedAt;
+    private final Set<String> hrefsAtLastCreatedAt;
+
+    public static NotificationCursor startingAt(final Date startDate) {
+        return new NotificationCursor(startDate.getTime(), Collections.emptySet());
+    }
+
+    public NotificationCursor(final long lastCreatedAt, final Set<String> hrefsAtLastCreatedAt) {
+        this.lastCreatedAt = lastCreatedAt;
+        this.hrefsAtLastCreatedAt = Collections.unmodifiableSet(new HashSet<>(hrefsAtLastCreatedAt));
+    }
+
+    public boolean isAfterCursor(final NotificationView notificationView) {
+        return isAfterCursor(notificationView.createdAt, notificationView);
+    }
+
+    public boolean isAfterCursor(final CommonNotificationView commonNotificationView) {
+        return isAfterCursor(commonNotificationView.getCreatedAt(), commonNotificationView);
+    }
+
+    /**
+     * Returns the cursor moved past the provided notifications. Notifications that are not after this cursor do not move it.
+     */
+    public NotificationCursor advance(final List<NotificationView> notificationViews) {
+        long newLastCreatedAt = lastCreatedAt;
+        final Set<String> newHrefs = new HashSet<>(hrefsAtLastCreatedAt);
+        for (final NotificationView notificationView : notificationViews) {
+            if (!isAfterCursor(notificationView)) {
+                continue;
+            }
+            final long createdAt = notificationView.createdAt.getTime();
+            if (createdAt > newLastCreatedAt) {
+                newLastCreatedAt = createdAt;
+                newHrefs.clear();
+            }
+            if (createdAt == newLastCreatedAt) {
+                newHrefs.add(getHref(notificationView));
+            }
+        }
+        return new NotificationCursor(newLastCreatedAt, newHrefs);
+    }
+
+    public Date getLastCreatedAt() {
+        return new Date(lastCreatedAt);
+    }
+
+    public Set<String> getHrefsAtLastCreatedAt() {
+        return hrefsAtLastCreatedAt;
+    }
+
+    private boolean isAfterCursor(final Date createdAt, final HubView view) {
+        final long createdAtTime = createdAt.getTime();
+        if (createdAtTime != lastCreatedAt) {
+            return createdAtTime > lastCreatedAt;
+        }
+        return !hrefsAtLastCreatedAt.contains(getHref(view));
+    }
+
+    private String getHref(final HubView view) {
+        // every notification should have an href, but the json is unique enough to stand in for one
+        if (view._meta != null && view._meta.href != null) {
+            return view._meta.href;
+        }
+        return view.json;
+    }
+
+}
@@ -0,0 +1,82 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.notification;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+import org.apache.commons.io.FileUtils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.synopsys.integration.blackduck.exception.HubIntegrationException;
+
+/**
+ * Persists a NotificationCursor to a file so that processing can resume after a restart. The file is replaced atomically, so a crash while
+ * saving leaves the previous cursor intact.
+ */
+public class NotificationCursorStore {
+    private final File cursorFile;
+    private final Gson gson;
+
+    public NotificationCursorStore(final File cursorFile, final Gson gson) {
+        this.cursorFile = cursorFile;
+        this.gson = gson;
+    }
+
+    public Optional<NotificationCursor> load() throws HubIntegrationException {
+        if (!cursorFile.isFile()) {
+            return Optional.empty();
+        }
+        try {
+            final String cursorJson = FileUtils.readFileToString(cursorFile, StandardCharsets.UTF_8);
+            return Optional.ofNullable(gson.fromJson(cursorJson, NotificationCursor.class));
+        } catch (final IOException | JsonSyntaxException e) {
+            throw new HubIntegrationException(String.format("Could not read the notification cursor from %s: %s", cursorFile.getAbsolutePath(), e.getMessage()), e);
+        }
+    }
+
+    public void save(final NotificationCursor notificationCursor) throws HubIntegrationException {
+        final File cursorDirectory = cursorFile.getAbsoluteFile().getParentFile();
+        cursorDirectory.mkdirs();
+        File temporaryFile = null;
+        try {
+            temporaryFile = File.createTempFile(cursorFile.getName(), ".tmp", cursorDirectory);
+            FileUtils.writeStringToFile(temporaryFile, gson.toJson(notificationCursor), StandardCharsets.UTF_8);
+            Files.move(temporaryFile.toPath(), cursorFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            FileUtils.deleteQuietly(temporaryFile);
+            throw new HubIntegrationException(String.format("Could not save the notification cursor to %s: %s", cursorFile.getAbsolutePath(), e.getMessage()), e);
+        }
+    }
+
+    public File getCursorFile() {
+        return cursorFile;
+    }
+
+}
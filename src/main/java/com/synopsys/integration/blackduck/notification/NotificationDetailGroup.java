@@ -0,0 +1,86 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.notification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import com.synopsys.integration.blackduck.api.generated.enumeration.NotificationType;
+import com.synopsys.integration.blackduck.notification.content.detail.NotificationContentDetail;
+
+/**
+ * One consolidated event for notification details that share a content detail key and notification type within a time window. The first
+ * detail stands for the group, and every notification that contributed to the group is kept in the order it was created.
+ */
+public class NotificationDetailGroup {
+    private final NotificationType type;
+    private final NotificationContentDetail notificationContentDetail;
+    private final List<NotificationDetailResult> notificationDetailResults = new ArrayList<>();
+    private int detailCount;
+
+    public NotificationDetailGroup(final NotificationType type, final NotificationContentDetail notificationContentDetail, final NotificationDetailResult firstResult) {
+        this.type = type;
+        this.notificationContentDetail = notificationContentDetail;
+        add(firstResult);
+    }
+
+    void add(final NotificationDetailResult notificationDetailResult) {
+        detailCount++;
+        // a single notification can hold more than one detail with the same key, but it only needs to be listed once
+        if (notificationDetailResults.isEmpty() || notificationDetailResults.get(notificationDetailResults.size() - 1) != notificationDetailResult) {
+            notificationDetailResults.add(notificationDetailResult);
+        }
+    }
+
+    public NotificationType getType() {
+        return type;
+    }
+
+    public String getContentDetailKey() {
+        return notificationContentDetail.getContentDetailKey();
+    }
+
+    public NotificationContentDetail getNotificationContentDetail() {
+        return notificationContentDetail;
+    }
+
+    public List<NotificationDetailResult> getNotificationDetailResults() {
+        return Collections.unmodifiableList(notificationDetailResults);
+    }
+
+    public int getDetailCount() {
+        return detailCount;
+    }
+
+    public Date getFirstCreatedAt() {
+        return notificationDetailResults.get(0).getCreatedAt();
+    }
+
+    public Date getLastCreatedAt() {
+        return notificationDetailResults.get(notificationDetailResults.size() - 1).getCreatedAt();
+    }
+
+}
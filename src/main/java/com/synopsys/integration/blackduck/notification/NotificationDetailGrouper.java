@@ -0,0 +1,80 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.notification;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.synopsys.integration.blackduck.notification.content.detail.NotificationContentDetail;
+
+/**
+ * Collapses bursts of near-identical notification details into one NotificationDetailGroup per content detail key. A detail joins the open group
+ * for its key if it has the same notification type and was created within the window of that group's first detail, otherwise it opens a new
+ * group. A detail of another type (a violation being cleared, for example) closes the open group for its key, so a violation that is cleared
+ * and then raised again is reported as three groups rather than folded back into the first one.
+ */
+public class NotificationDetailGrouper {
+    private final long windowMillis;
+
+    public NotificationDetailGrouper(final long windowMillis) {
+        if (windowMillis < 0) {
+            throw new IllegalArgumentException("The grouping window can not be negative.");
+        }
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * @return The groups, oldest first.
+     */
+    public List<NotificationDetailGroup> groupByContentDetailKey(final NotificationDetailResults notificationDetailResults) {
+        final List<NotificationDetailResult> oldestFirst = new ArrayList<>(notificationDetailResults.getResults());
+        oldestFirst.sort(Comparator.comparing(NotificationDetailResult::getCreatedAt));
+
+        final List<NotificationDetailGroup> groups = new ArrayList<>();
+        final Map<String, NotificationDetailGroup> openGroups = new HashMap<>();
+        for (final NotificationDetailResult notificationDetailResult : oldestFirst) {
+            final long createdAt = notificationDetailResult.getCreatedAt().getTime();
+            for (final NotificationContentDetail notificationContentDetail : notificationDetailResult.getNotificationContentDetails()) {
+                final String contentDetailKey = notificationContentDetail.getContentDetailKey();
+                final NotificationDetailGroup openGroup = openGroups.get(contentDetailKey);
+                if (openGroup != null && openGroup.getType() == notificationDetailResult.getType() && createdAt - openGroup.getFirstCreatedAt().getTime() <= windowMillis) {
+                    openGroup.add(notificationDetailResult);
+                } else {
+                    final NotificationDetailGroup newGroup = new NotificationDetailGroup(notificationDetailResult.getType(), notificationContentDetail, notificationDetailResult);
+                    openGroups.put(contentDetailKey, newGroup);
+                    groups.add(newGroup);
+                }
+            }
+        }
+        return groups;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+}
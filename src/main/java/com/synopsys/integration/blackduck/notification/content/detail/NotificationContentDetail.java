@@ -37,29 +37,33 @@ import com.synopsys.integration.blackduck.api.generated.view.ProjectVersionView;
 import com.synopsys.integration.blackduck.api.generated.view.VersionBomComponentView;
 import com.synopsys.integration.util.Stringable;
 
+/**
+ * The fields are stored as plain, possibly null references and only wrapped in an Optional when they are read - with a shared NotificationSymbolTable
+ * the names and links are shared between details as well, which keeps large batches of details small. The content detail key is built the first time it is requested.
+ */
 public class NotificationContentDetail extends Stringable {
     private final String notificationGroup;
-    private final String contentDetailKey;
+    private String contentDetailKey;
 
-    private final Optional<String> projectName;
-    private final Optional<String> projectVersionName;
-    private final Optional<UriSingleResponse<ProjectVersionView>> projectVersion;
+    private final String projectName;
+    private final String projectVersionName;
+    private final UriSingleResponse<ProjectVersionView> projectVersion;
 
-    private final Optional<String> componentName;
-    private final Optional<UriSingleResponse<ComponentView>> component;
+    private final String componentName;
+    private final UriSingleResponse<ComponentView> component;
 
-    private final Optional<String> componentVersionName;
-    private final Optional<UriSingleResponse<ComponentVersionView>> componentVersion;
+    private final String componentVersionName;
+    private final UriSingleResponse<ComponentVersionView> componentVersion;
 
-    private final Optional<String> policyName;
-    private final Optional<UriSingleResponse<PolicyRuleViewV2>> policy;
+    private final String policyName;
+    private final UriSingleResponse<PolicyRuleViewV2> policy;
 
-    private final Optional<String> componentVersionOriginName;
-    private final Optional<UriSingleResponse<IssueView>> componentIssue;
+    private final String componentVersionOriginName;
+    private final UriSingleResponse<IssueView> componentIssue;
 
-    private final Optional<String> componentVersionOriginId;
+    private final String componentVersionOriginId;
 
-    private final Optional<UriSingleResponse<VersionBomComponentView>> bomComponent;
+    private final UriSingleResponse<VersionBomComponentView> bomComponent;
 
     public final static String CONTENT_KEY_GROUP_BOM_EDIT = "bom_edit";
     public final static String CONTENT_KEY_GROUP_LICENSE = "license";
@@ -84,8 +88,9 @@ public class NotificationContentDetail extends Stringable {
             ,final Optional<String> componentVersionOriginId
             ,final Optional<String> bomComponent
             ) {
-        return new NotificationContentDetail(
-                notificationGroup
+        return createDetail(
+                null
+                ,notificationGroup
                 ,projectName
                 ,projectVersionName
                 ,projectVersionUri
@@ -103,46 +108,95 @@ public class NotificationContentDetail extends Stringable {
     }
     // @formatter:on
 
+    /**
+     * @param symbolTable Shares the names and links with other details created with the same table. When null, nothing is shared.
+     */
     // @formatter:off
-    private NotificationContentDetail(
-            final String notificationGroup
+    public static NotificationContentDetail createDetail(
+            final NotificationSymbolTable symbolTable
+            ,final String notificationGroup
             ,final Optional<String> projectName
             ,final Optional<String> projectVersionName
-            ,final Optional<String> projectVersion
+            ,final Optional<String> projectVersionUri
             ,final Optional<String> componentName
-            ,final Optional<String> component
+            ,final Optional<String> componentUri
             ,final Optional<String> componentVersionName
-            ,final Optional<String> componentVersion
+            ,final Optional<String> componentVersionUri
             ,final Optional<String> policyName
-            ,final Optional<String> policy
+            ,final Optional<String> policyUri
             ,final Optional<String> componentVersionOriginName
-            ,final Optional<String> componentIssue
+            ,final Optional<String> componentIssueUri
             ,final Optional<String> componentVersionOriginId
             ,final Optional<String> bomComponent
             ) {
+        return new NotificationContentDetail(
+                notificationGroup
+                ,intern(symbolTable, projectName)
+                ,intern(symbolTable, projectVersionName)
+                ,internUri(symbolTable, projectVersionUri, ProjectVersionView.class)
+                ,intern(symbolTable, componentName)
+                ,internUri(symbolTable, componentUri, ComponentView.class)
+                ,intern(symbolTable, componentVersionName)
+                ,internUri(symbolTable, componentVersionUri, ComponentVersionView.class)
+                ,intern(symbolTable, policyName)
+                ,internUri(symbolTable, policyUri, PolicyRuleViewV2.class)
+                ,intern(symbolTable, componentVersionOriginName)
+                ,internUri(symbolTable, componentIssueUri, IssueView.class)
+                ,intern(symbolTable, componentVersionOriginId)
+                ,internUri(symbolTable, bomComponent, VersionBomComponentView.class)
+                );
+    }
+    // @formatter:on
+
+    // @formatter:off
+    private NotificationContentDetail(
+            final String notificationGroup
+            ,final String projectName
+            ,final String projectVersionName
+            ,final UriSingleResponse<ProjectVersionView> projectVersion
+            ,final String componentName
+            ,final UriSingleResponse<ComponentView> component
+            ,final String componentVersionName
+            ,final UriSingleResponse<ComponentVersionView> componentVersion
+            ,final String policyName
+            ,final UriSingleResponse<PolicyRuleViewV2> policy
+            ,final String componentVersionOriginName
+            ,final UriSingleResponse<IssueView> componentIssue
+            ,final String componentVersionOriginId
+            ,final UriSingleResponse<VersionBomComponentView> bomComponent
+            ) {
         this.notificationGroup = notificationGroup;
         this.projectName = projectName;
         this.projectVersionName = projectVersionName;
-        this.projectVersion = createUriSingleResponse(projectVersion, ProjectVersionView.class);
+        this.projectVersion = projectVersion;
         this.componentName = componentName;
-        this.component = createUriSingleResponse(component, ComponentView.class);
+        this.component = component;
         this.componentVersionName = componentVersionName;
-        this.componentVersion = createUriSingleResponse(componentVersion, ComponentVersionView.class);
+        this.componentVersion = componentVersion;
         this.policyName = policyName;
-        this.policy = createUriSingleResponse(policy, PolicyRuleViewV2.class);
+        this.policy = policy;
         this.componentVersionOriginName = componentVersionOriginName;
-        this.componentIssue = createUriSingleResponse(componentIssue, IssueView.class);
+        this.componentIssue = componentIssue;
         this.componentVersionOriginId = componentVersionOriginId;
-        this.bomComponent = createUriSingleResponse(bomComponent, VersionBomComponentView.class);
-        contentDetailKey = createContentDetailKey();
+        this.bomComponent = bomComponent;
     }
     // @formatter:on
 
-    private <T extends HubResponse> Optional<UriSingleResponse<T>> createUriSingleResponse(final Optional<String> uri, final Class<T> responseClass) {
-        if (uri.isPresent()) {
-            return Optional.of(new UriSingleResponse<>(uri.get(), responseClass));
+    private static String intern(final NotificationSymbolTable symbolTable, final Optional<String> value) {
+        if (symbolTable == null) {
+            return value.orElse(null);
+        }
+        return symbolTable.intern(value.orElse(null));
+    }
+
+    private static <T extends HubResponse> UriSingleResponse<T> internUri(final NotificationSymbolTable symbolTable, final Optional<String> uri, final Class<T> responseClass) {
+        if (!uri.isPresent()) {
+            return null;
+        }
+        if (symbolTable == null) {
+            return new UriSingleResponse<>(uri.get(), responseClass);
         }
-        return Optional.empty();
+        return symbolTable.intern(uri.get(), responseClass);
     }
 
     private String createContentDetailKey() {
@@ -150,28 +204,28 @@ public class NotificationContentDetail extends Stringable {
         keyBuilder.append(notificationGroup);
         keyBuilder.append(CONTENT_KEY_SEPARATOR);
 
-        if (projectVersion.isPresent()) {
-            keyBuilder.append(projectVersion.get().uri.hashCode());
+        if (projectVersion != null) {
+            keyBuilder.append(projectVersion.uri.hashCode());
         }
         keyBuilder.append(CONTENT_KEY_SEPARATOR);
 
-        if (component.isPresent()) {
-            keyBuilder.append(component.get().uri.hashCode());
+        if (component != null) {
+            keyBuilder.append(component.uri.hashCode());
         }
         keyBuilder.append(CONTENT_KEY_SEPARATOR);
 
-        if (componentVersion.isPresent()) {
-            keyBuilder.append(componentVersion.get().uri.hashCode());
+        if (componentVersion != null) {
+            keyBuilder.append(componentVersion.uri.hashCode());
         }
         keyBuilder.append(CONTENT_KEY_SEPARATOR);
 
-        if (policy.isPresent()) {
-            keyBuilder.append(policy.get().uri.hashCode());
+        if (policy != null) {
+            keyBuilder.append(policy.uri.hashCode());
             keyBuilder.append(CONTENT_KEY_SEPARATOR);
         }
 
-        if (bomComponent.isPresent()) {
-            keyBuilder.append(bomComponent.get().uri.hashCode());
+        if (bomComponent != null) {
+            keyBuilder.append(bomComponent.uri.hashCode());
         }
         keyBuilder.append(CONTENT_KEY_SEPARATOR);
 
@@ -180,15 +234,15 @@ public class NotificationContentDetail extends Stringable {
     }
 
     public boolean hasComponentVersion() {
-        return componentVersion.isPresent();
+        return componentVersion != null;
     }
 
     public boolean hasOnlyComponent() {
-        return component.isPresent();
+        return component != null;
     }
 
     public boolean isPolicy() {
-        return policy.isPresent();
+        return policy != null;
     }
 
     public boolean isVulnerability() {
@@ -201,17 +255,17 @@ public class NotificationContentDetail extends Stringable {
 
     public List<UriSingleResponse<? extends HubResponse>> getPresentLinks() {
         final List<UriSingleResponse<? extends HubResponse>> presentLinks = new ArrayList<>();
-        if (projectVersion.isPresent()) {
-            presentLinks.add(projectVersion.get());
+        if (projectVersion != null) {
+            presentLinks.add(projectVersion);
         }
-        if (component.isPresent()) {
-            presentLinks.add(component.get());
+        if (component != null) {
+            presentLinks.add(component);
         }
-        if (componentVersion.isPresent()) {
-            presentLinks.add(componentVersion.get());
+        if (componentVersion != null) {
+            presentLinks.add(componentVersion);
         }
-        if (policy.isPresent()) {
-            presentLinks.add(policy.get());
+        if (policy != null) {
+            presentLinks.add(policy);
         }
         return presentLinks;
     }
@@ -221,59 +275,63 @@ public class NotificationContentDetail extends Stringable {
     }
 
     public String getContentDetailKey() {
+        // the key is the same no matter which thread builds it, so a racing second build is harmless
+        if (contentDetailKey == null) {
+            contentDetailKey = createContentDetailKey();
+        }
         return contentDetailKey;
     }
 
     public Optional<String> getProjectName() {
-        return projectName;
+        return Optional.ofNullable(projectName);
     }
 
     public Optional<String> getProjectVersionName() {
-        return projectVersionName;
+        return Optional.ofNullable(projectVersionName);
     }
 
     public Optional<UriSingleResponse<ProjectVersionView>> getProjectVersion() {
-        return projectVersion;
+        return Optional.ofNullable(projectVersion);
     }
 
     public Optional<String> getComponentName() {
-        return componentName;
+        return Optional.ofNullable(componentName);
     }
 
     public Optional<UriSingleResponse<ComponentView>> getComponent() {
-        return component;
+        return Optional.ofNullable(component);
     }
 
     public Optional<String> getComponentVersionName() {
-        return componentVersionName;
+        return Optional.ofNullable(componentVersionName);
     }
 
     public Optional<UriSingleResponse<ComponentVersionView>> getComponentVersion() {
-        return componentVersion;
+        return Optional.ofNullable(componentVersion);
     }
 
     public Optional<String> getPolicyName() {
-        return policyName;
+        return Optional.ofNullable(policyName);
     }
 
     public Optional<UriSingleResponse<PolicyRuleViewV2>> getPolicy() {
-        return policy;
+        return Optional.ofNullable(policy);
     }
 
     public Optional<String> getComponentVersionOriginName() {
-        return componentVersionOriginName;
+        return Optional.ofNullable(componentVersionOriginName);
     }
 
     public Optional<UriSingleResponse<IssueView>> getComponentIssue() {
-        return componentIssue;
+        return Optional.ofNullable(componentIssue);
     }
 
     public Optional<String> getComponentVersionOriginId() {
-        return componentVersionOriginId;
+        return Optional.ofNullable(componentVersionOriginId);
     }
 
     public Optional<UriSingleResponse<VersionBomComponentView>> getBomComponent() {
-        return bomComponent;
+        return Optional.ofNullable(bomComponent);
     }
 
 }
@@ -23,6 +23,8 @@
  */
 package com.synopsys.integration.blackduck.notification.content.detail;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -30,12 +32,14 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
 import com.synopsys.integration.blackduck.api.component.AffectedProjectVersion;
 import com.synopsys.integration.blackduck.api.generated.enumeration.NotificationType;
 import com.synopsys.integration.blackduck.notification.CommonNotificationView;
 import com.synopsys.integration.blackduck.notification.NotificationDetailResult;
+import com.synopsys.integration.blackduck.notification.content.BomComputedNotificationContent;
 import com.synopsys.integration.blackduck.notification.content.BomEditContent;
 import com.synopsys.integration.blackduck.notification.content.ComponentVersionStatus;
 import com.synopsys.integration.blackduck.notification.content.NotificationContent;
@@ -46,41 +50,51 @@ import com.synopsys.integration.blackduck.notification.content.RuleViolationNoti
 import com.synopsys.integration.blackduck.notification.content.VulnerabilityNotificationContent;
 
 public class NotificationContentDetailFactory {
+    private static final String CONTENT_FIELD_NAME = "content";
+
     private final Gson gson;
-    private final JsonParser jsonParser;
+    private final NotificationSymbolTable symbolTable;
 
-    public NotificationContentDetailFactory(final Gson gson, final JsonParser jsonParser) {
+    public NotificationContentDetailFactory(final Gson gson) {
+        this(gson, (NotificationSymbolTable) null);
+    }
+
+    /**
+     * The details created by this factory will share their names and links through the symbol table.
+     */
+    public NotificationContentDetailFactory(final Gson gson, final NotificationSymbolTable symbolTable) {
         this.gson = gson;
-        this.jsonParser = jsonParser;
+        this.symbolTable = symbolTable;
+    }
+
+    /**
+     * @deprecated The content is now read directly from the notification json, so the JsonParser is no longer used. Use {@link #NotificationContentDetailFactory(Gson)} instead.
+     */
+    @Deprecated
+    public NotificationContentDetailFactory(final Gson gson, final JsonParser jsonParser) {
+        this(gson);
     }
 
     public NotificationDetailResult generateContentDetails(final CommonNotificationView view) {
         final NotificationType type = view.getType();
-        final String notificationJson = view.json;
-        final JsonObject jsonObject = jsonParser.parse(notificationJson).getAsJsonObject();
+        final NotificationContent notificationContent = view.getNotificationContent().orElseGet(() -> parseContent(type, view.json).orElse(null));
 
-        NotificationContent notificationContent = null;
         String notificationGroup = null;
         final List<NotificationContentDetail> notificationContentDetails = new ArrayList<>();
 
         if (NotificationType.POLICY_OVERRIDE.equals(type)) {
-            notificationContent = gson.fromJson(jsonObject.get("content"), PolicyOverrideNotificationContent.class);
             notificationGroup = NotificationContentDetail.CONTENT_KEY_GROUP_POLICY;
             populateContentDetails(notificationContentDetails, notificationGroup, (PolicyOverrideNotificationContent) notificationContent);
         } else if (NotificationType.RULE_VIOLATION.equals(type)) {
-            notificationContent = gson.fromJson(jsonObject.get("content"), RuleViolationNotificationContent.class);
             notificationGroup = NotificationContentDetail.CONTENT_KEY_GROUP_POLICY;
             populateContentDetails(notificationContentDetails, notificationGroup, (RuleViolationNotificationContent) notificationContent);
         } else if (NotificationType.RULE_VIOLATION_CLEARED.equals(type)) {
-            notificationContent = gson.fromJson(jsonObject.get("content"), RuleViolationClearedNotificationContent.class);
             notificationGroup = NotificationContentDetail.CONTENT_KEY_GROUP_POLICY;
             populateContentDetails(notificationContentDetails, notificationGroup, (RuleViolationClearedNotificationContent) notificationContent);
         } else if (NotificationType.VULNERABILITY.equals(type)) {
-            notificationContent = gson.fromJson(jsonObject.get("content"), VulnerabilityNotificationContent.class);
             notificationGroup = NotificationContentDetail.CONTENT_KEY_GROUP_VULNERABILITY;
             populateContentDetails(notificationContentDetails, notificationGroup, (VulnerabilityNotificationContent) notificationContent);
         } else if (NotificationType.BOM_EDIT.equals(type)) {
-            notificationContent = gson.fromJson(jsonObject.get("content"), BomEditContent.class);
             notificationGroup = NotificationContentDetail.CONTENT_KEY_GROUP_BOM_EDIT;
             populateContentDetails(notificationContentDetails, notificationGroup, (BomEditContent) notificationContent);
         }
@@ -88,6 +102,50 @@ public class NotificationContentDetailFactory {
         return new NotificationDetailResult(notificationContent, view.getContentType(), view.getCreatedAt(), view.getType(), notificationGroup, Optional.ofNullable(view.getNotificationState()), notificationContentDetails);
     }
 
+    /**
+     * Reads the typed content of a notification straight from its json in a single pass - no intermediate tree is built and every field other than the content is skipped.
+     * @return The content, or empty if the type has no known content or the json has none.
+     */
+    public Optional<NotificationContent> parseContent(final NotificationType type, final String notificationJson) {
+        final Class<? extends NotificationContent> contentClass = getContentClass(type);
+        if (contentClass == null || notificationJson == null) {
+            return Optional.empty();
+        }
+
+        try (final JsonReader jsonReader = new JsonReader(new StringReader(notificationJson))) {
+            NotificationContent notificationContent = null;
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                if (CONTENT_FIELD_NAME.equals(jsonReader.nextName())) {
+                    notificationContent = gson.getAdapter(contentClass).read(jsonReader);
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            jsonReader.endObject();
+            return Optional.ofNullable(notificationContent);
+        } catch (final IOException | IllegalStateException e) {
+            throw new JsonParseException(String.format("Could not read the %s notification content: %s", type, e.getMessage()), e);
+        }
+    }
+
+    private Class<? extends NotificationContent> getContentClass(final NotificationType type) {
+        if (NotificationType.POLICY_OVERRIDE.equals(type)) {
+            return PolicyOverrideNotificationContent.class;
+        } else if (NotificationType.RULE_VIOLATION.equals(type)) {
+            return RuleViolationNotificationContent.class;
+        } else if (NotificationType.RULE_VIOLATION_CLEARED.equals(type)) {
+            return RuleViolationClearedNotificationContent.class;
+        } else if (NotificationType.VULNERABILITY.equals(type)) {
+            return VulnerabilityNotificationContent.class;
+        } else if (NotificationType.BOM_EDIT.equals(type)) {
+            return BomEditContent.class;
+        } else if (NotificationType.VERSION_BOM_CODE_LOCATION_BOM_COMPUTED.equals(type)) {
+            return BomComputedNotificationContent.class;
+        }
+        return null;
+    }
+
     public void populateContentDetails(final List<NotificationContentDetail> notificationContentDetails, final String notificationGroup, final PolicyOverrideNotificationContent content) {
         for (final PolicyInfo policyInfo : content.policyInfos) {
             final String componentValue;
@@ -96,7 +154,7 @@ public class NotificationContentDetailFactory {
             } else {
                 componentValue = content.component;
             }
-            final NotificationContentDetail detail = NotificationContentDetail.createDetail(notificationGroup, Optional.of(content.projectName), Optional.of(content.projectVersionName), Optional.of(content.projectVersion),
+            final NotificationContentDetail detail = NotificationContentDetail.createDetail(symbolTable, notificationGroup, Optional.of(content.projectName), Optional.of(content.projectVersionName), Optional.of(content.projectVersion),
                     Optional.of(content.componentName), Optional.ofNullable(componentValue), Optional.ofNullable(content.componentVersionName), Optional.ofNullable(content.componentVersion), Optional.of(policyInfo.policyName),
                     Optional.of(policyInfo.policy), Optional.empty(), Optional.empty(), Optional.empty(), Optional.ofNullable(content.bomComponent));
             notificationContentDetails.add(detail);
@@ -114,7 +172,7 @@ public class NotificationContentDetailFactory {
                 } else {
                     componentValue = componentVersionStatus.component;
                 }
-                final NotificationContentDetail detail = NotificationContentDetail.createDetail(notificationGroup, Optional.of(content.projectName), Optional.of(content.projectVersionName), Optional.of(content.projectVersion),
+                final NotificationContentDetail detail = NotificationContentDetail.createDetail(symbolTable, notificationGroup, Optional.of(content.projectName), Optional.of(content.projectVersionName), Optional.of(content.projectVersion),
                         Optional.of(componentVersionStatus.componentName), Optional.ofNullable(componentValue), Optional.ofNullable(componentVersionStatus.componentVersionName), Optional.ofNullable(componentVersionStatus.componentVersion),
                         Optional.of(policyName), Optional.of(policyUri), Optional.empty(), Optional.ofNullable(componentVersionStatus.componentIssueLink), Optional.empty(), Optional.ofNullable(componentVersionStatus.bomComponent));
                 notificationContentDetails.add(detail);
@@ -133,7 +191,7 @@ public class NotificationContentDetailFactory {
                 } else {
                     componentValue = componentVersionStatus.component;
                 }
-                final NotificationContentDetail detail = NotificationContentDetail.createDetail(notificationGroup, Optional.of(content.projectName), Optional.of(content.projectVersionName), Optional.of(content.projectVersion),
+                final NotificationContentDetail detail = NotificationContentDetail.createDetail(symbolTable, notificationGroup, Optional.of(content.projectName), Optional.of(content.projectVersionName), Optional.of(content.projectVersion),
                         Optional.of(componentVersionStatus.componentName), Optional.ofNullable(componentValue), Optional.ofNullable(componentVersionStatus.componentVersionName), Optional.ofNullable(componentVersionStatus.componentVersion),
                         Optional.of(policyName), Optional.of(policyUri), Optional.empty(), Optional.of(componentVersionStatus.componentIssueLink), Optional.empty(), Optional.ofNullable(componentVersionStatus.bomComponent));
                 notificationContentDetails.add(detail);
@@ -144,7 +202,7 @@ public class NotificationContentDetailFactory {
     public void populateContentDetails(final List<NotificationContentDetail> notificationContentDetails, final String notificationGroup, final VulnerabilityNotificationContent content) {
         for (final AffectedProjectVersion projectVersion : content.affectedProjectVersions) {
             final NotificationContentDetail detail = NotificationContentDetail
-                    .createDetail(notificationGroup, Optional.of(projectVersion.projectName), Optional.of(projectVersion.projectVersionName), Optional.of(projectVersion.projectVersion),
+                    .createDetail(symbolTable, notificationGroup, Optional.of(projectVersion.projectName), Optional.of(projectVersion.projectVersionName), Optional.of(projectVersion.projectVersion),
                             Optional.of(content.componentName), Optional.empty(), Optional.of(content.versionName), Optional.of(content.componentVersion), Optional.empty(), Optional.empty(),
                             Optional.ofNullable(content.componentVersionOriginName), Optional.ofNullable(projectVersion.componentIssueUrl), Optional.ofNullable(content.componentVersionOriginId),
                             Optional.ofNullable(projectVersion.bomComponent));
@@ -154,7 +212,7 @@ public class NotificationContentDetailFactory {
 
     private void populateContentDetails(final List<NotificationContentDetail> notificationContentDetails, final String notificationGroup, final BomEditContent notificationContent) {
         final NotificationContentDetail detail = NotificationContentDetail
-                .createDetail(notificationGroup, Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(),
+                .createDetail(symbolTable, notificationGroup, Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(),
                         Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.ofNullable(notificationContent.bomComponent));
         notificationContentDetails.add(detail);
     }
@@ -0,0 +1,65 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.notification.content.detail;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.synopsys.integration.blackduck.api.UriSingleResponse;
+import com.synopsys.integration.blackduck.api.core.HubResponse;
+
+/**
+ * Shares the names and links that repeat across notification details - the same project version, component and policy show up in thousands of
+ * them - so that each distinct value is held once. The table only grows, so it should live as long as the details it serves, not longer.
+ */
+public class NotificationSymbolTable {
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Map<String, UriSingleResponse<?>>> uriResponsesByClass = new ConcurrentHashMap<>();
+
+    public String intern(final String value) {
+        if (value == null) {
+            return null;
+        }
+        return strings.computeIfAbsent(value, key -> key);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends HubResponse> UriSingleResponse<T> intern(final String uri, final Class<T> responseClass) {
+        if (uri == null) {
+            return null;
+        }
+        final Map<String, UriSingleResponse<?>> uriResponses = uriResponsesByClass.computeIfAbsent(responseClass, key -> new ConcurrentHashMap<>());
+        return (UriSingleResponse<T>) uriResponses.computeIfAbsent(uri, key -> new UriSingleResponse<>(intern(key), responseClass));
+    }
+
+    public int size() {
+        return strings.size() + uriResponsesByClass.values().stream().mapToInt(Map::size).sum();
+    }
+
+    public void clear() {
+        strings.clear();
+        uriResponsesByClass.clear();
+    }
+
+}
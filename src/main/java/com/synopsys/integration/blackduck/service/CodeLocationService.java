@@ -24,8 +24,12 @@
 package com.synopsys.integration.blackduck.service;
 
 import java.io.IOException;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -119,6 +123,28 @@ public class CodeLocationService extends DataService {
         throw new DoesNotExistException("This Code Location does not exist. Code Location: " + codeLocationName);
     }
 
+    /**
+     * Finds several code locations with one name query each, so the result does not depend on the order the server returns code locations in.
+     * Code locations that were last updated before updatedSince are left out.
+     * @return The code locations that were found, by name.
+     */
+    public Map<String, CodeLocationView> getCodeLocationsByNames(final Set<String> codeLocationNames, final Date updatedSince) throws IntegrationException {
+        final Map<String, CodeLocationView> codeLocationsByName = new HashMap<>();
+        for (final String codeLocationName : codeLocationNames) {
+            final Optional<HubQuery> hubQuery = HubQuery.createQuery("name", codeLocationName);
+            final Request.Builder requestBuilder = RequestFactory.createCommonGetRequestBuilder(hubQuery);
+            final List<CodeLocationView> codeLocations = hubService.getAllResponses(ApiDiscovery.CODELOCATIONS_LINK_RESPONSE, requestBuilder);
+            for (final CodeLocationView codeLocation : codeLocations) {
+                // the name query also matches names that only contain the name
+                if (codeLocationName.equals(codeLocation.name) && (codeLocation.updatedAt == null || !codeLocation.updatedAt.before(updatedSince))) {
+                    codeLocationsByName.put(codeLocationName, codeLocation);
+                }
+            }
+        }
+
+        return codeLocationsByName;
+    }
+
     public CodeLocationView getCodeLocationById(final String codeLocationId) throws IntegrationException {
         final HubPath hubPath = new HubPath(ApiDiscovery.CODELOCATIONS_LINK.getPath() + "/" + codeLocationId);
         final HubPathSingleResponse<CodeLocationView> codeLocationResponse = new HubPathSingleResponse<>(hubPath, CodeLocationView.class);
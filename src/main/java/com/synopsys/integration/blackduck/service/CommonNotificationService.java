@@ -26,18 +26,25 @@ package com.synopsys.integration.blackduck.service;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.TimeZone;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import com.synopsys.integration.blackduck.api.UriSingleResponse;
 import com.synopsys.integration.blackduck.api.core.HubResponse;
 import com.synopsys.integration.blackduck.api.generated.view.NotificationUserView;
 import com.synopsys.integration.blackduck.api.generated.view.NotificationView;
+import com.synopsys.integration.blackduck.exception.HubIntegrationException;
 import com.synopsys.integration.blackduck.notification.CommonNotificationView;
 import com.synopsys.integration.blackduck.notification.CommonNotificationViewResults;
+import com.synopsys.integration.blackduck.notification.NotificationDetailGroup;
+import com.synopsys.integration.blackduck.notification.NotificationDetailGrouper;
 import com.synopsys.integration.blackduck.notification.NotificationDetailResult;
 import com.synopsys.integration.blackduck.notification.NotificationDetailResults;
 import com.synopsys.integration.blackduck.notification.content.detail.NotificationContentDetailFactory;
@@ -47,12 +54,25 @@ import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.rest.RestConstants;
 
 public class CommonNotificationService {
+    public static final int DETAIL_GENERATION_CHUNK_SIZE = 500;
+
     private final NotificationContentDetailFactory notificationContentDetailFactory;
     private final boolean oldestFirst;
+    private final Optional<ExecutorService> executorService;
 
     public CommonNotificationService(final NotificationContentDetailFactory notificationContentDetailFactory, final boolean oldestFirst) {
         this.notificationContentDetailFactory = notificationContentDetailFactory;
         this.oldestFirst = oldestFirst;
+        this.executorService = Optional.empty();
+    }
+
+    /**
+     * The details will be generated in chunks on the provided executor (a ForkJoinPool works as well as any other). The executor is not shut down by this service.
+     */
+    public CommonNotificationService(final NotificationContentDetailFactory notificationContentDetailFactory, final boolean oldestFirst, final ExecutorService executorService) {
+        this.notificationContentDetailFactory = notificationContentDetailFactory;
+        this.oldestFirst = oldestFirst;
+        this.executorService = Optional.of(executorService);
     }
 
     public List<CommonNotificationView> getCommonNotifications(final List<NotificationView> notificationViews) {
@@ -63,6 +83,17 @@ public class CommonNotificationService {
         return commonStates;
     }
 
+    /**
+     * Parses each notification's content while creating its common view, so that generating the details later is purely in memory.
+     */
+    public List<CommonNotificationView> getCommonNotificationsWithContent(final List<NotificationView> notificationViews) {
+        final List<CommonNotificationView> commonStates = notificationViews.stream().map(view -> {
+            return new CommonNotificationView(view, notificationContentDetailFactory.parseContent(view.type, view.json).orElse(null));
+        }).collect(Collectors.toList());
+
+        return commonStates;
+    }
+
     public List<CommonNotificationView> getCommonUserNotifications(final List<NotificationUserView> notificationUserViews) {
         final List<CommonNotificationView> commonStates = notificationUserViews.stream().map(view -> {
             return new CommonNotificationView(view);
@@ -71,6 +102,17 @@ public class CommonNotificationService {
         return commonStates;
     }
 
+    /**
+     * Parses each user notification's content while creating its common view, so that generating the details later is purely in memory.
+     */
+    public List<CommonNotificationView> getCommonUserNotificationsWithContent(final List<NotificationUserView> notificationUserViews) {
+        final List<CommonNotificationView> commonStates = notificationUserViews.stream().map(view -> {
+            return new CommonNotificationView(view, notificationContentDetailFactory.parseContent(view.type, view.json).orElse(null));
+        }).collect(Collectors.toList());
+
+        return commonStates;
+    }
+
     public CommonNotificationViewResults getCommonNotificationViewResults(final List<CommonNotificationView> commonNotifications) {
         if (commonNotifications == null || commonNotifications.isEmpty()) {
             return new CommonNotificationViewResults(Collections.emptyList(), Optional.empty(), Optional.empty());
@@ -85,38 +127,83 @@ public class CommonNotificationService {
             return new NotificationDetailResults(Collections.emptyList(), Optional.empty(), Optional.empty());
         }
 
-        List<NotificationDetailResult> sortedDetails = commonNotifications.stream().map(view -> {
-            return notificationContentDetailFactory.generateContentDetails(view);
-        }).collect(Collectors.toList());
-
+        final List<CommonNotificationView> orderedNotifications;
         if (oldestFirst) {
-            // we don't want to use the default sorting from the hub
-            sortedDetails = sortedDetails.stream().sorted((result_1, result_2) -> {
-                return result_1.getCreatedAt().compareTo(result_2.getCreatedAt());
-            }).collect(Collectors.toList());
+            // we don't want to use the default sorting from the hub - the hub returns newest first, which the (stable) sort reverses in a single pass
+            orderedNotifications = new ArrayList<>(commonNotifications);
+            orderedNotifications.sort(Comparator.comparing(CommonNotificationView::getCreatedAt));
+        } else {
+            orderedNotifications = commonNotifications;
+        }
+
+        final List<NotificationDetailResult> sortedDetails;
+        if (executorService.isPresent()) {
+            sortedDetails = generateContentDetailsConcurrently(orderedNotifications, executorService.get());
+        } else {
+            sortedDetails = generateContentDetails(orderedNotifications);
         }
 
         final DatePair datePair = getLatestCreatedAtString(commonNotifications);
         return new NotificationDetailResults(sortedDetails, datePair.date, datePair.dateString);
     }
 
+    /**
+     * @return One group per content detail key (and notification type) for the details created within windowMillis of each other, oldest first.
+     */
+    public List<NotificationDetailGroup> getNotificationDetailGroups(final NotificationDetailResults notificationDetailResults, final long windowMillis) {
+        final NotificationDetailGrouper notificationDetailGrouper = new NotificationDetailGrouper(windowMillis);
+        return notificationDetailGrouper.groupByContentDetailKey(notificationDetailResults);
+    }
+
     public void populateHubBucket(final HubBucketService hubBucketService, final HubBucket hubBucket, final NotificationDetailResults notificationDetailResults) throws IntegrationException {
         final List<UriSingleResponse<? extends HubResponse>> uriResponseList = new ArrayList<>();
         uriResponseList.addAll(notificationDetailResults.getAllLinks());
         hubBucketService.addToTheBucket(hubBucket, uriResponseList);
     }
 
+    private List<NotificationDetailResult> generateContentDetails(final List<CommonNotificationView> views) {
+        final List<NotificationDetailResult> details = new ArrayList<>(views.size());
+        for (final CommonNotificationView view : views) {
+            details.add(notificationContentDetailFactory.generateContentDetails(view));
+        }
+        return details;
+    }
+
+    private List<NotificationDetailResult> generateContentDetailsConcurrently(final List<CommonNotificationView> views, final ExecutorService executor) throws IntegrationException {
+        // the chunk futures are joined in submission order, so the details keep the order of the views
+        final List<Future<List<NotificationDetailResult>>> chunkFutures = new ArrayList<>();
+        try {
+            for (int chunkStart = 0; chunkStart < views.size(); chunkStart += DETAIL_GENERATION_CHUNK_SIZE) {
+                final List<CommonNotificationView> chunk = views.subList(chunkStart, Math.min(chunkStart + DETAIL_GENERATION_CHUNK_SIZE, views.size()));
+                chunkFutures.add(executor.submit(() -> generateContentDetails(chunk)));
+            }
+
+            final List<NotificationDetailResult> details = new ArrayList<>(views.size());
+            for (final Future<List<NotificationDetailResult>> chunkFuture : chunkFutures) {
+                details.addAll(chunkFuture.get());
+            }
+            return details;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HubIntegrationException("Interrupted while generating the notification details: " + e.getMessage(), e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            throw new HubIntegrationException(String.format("Could not generate the notification details: %s", cause.getMessage()), cause);
+        } finally {
+            chunkFutures.forEach(chunkFuture -> chunkFuture.cancel(true));
+        }
+    }
+
     private DatePair getLatestCreatedAtString(final List<CommonNotificationView> views) {
-        // sortedViews will be sorted most recent to oldest
-        final List<CommonNotificationView> sortedViews = views.stream().sorted((left, right) -> {
-            return right.getCreatedAt().compareTo(left.getCreatedAt());
-        }).collect(Collectors.toList());
+        Date latestCreatedAtDate = null;
+        for (final CommonNotificationView view : views) {
+            if (latestCreatedAtDate == null || view.getCreatedAt().after(latestCreatedAtDate)) {
+                latestCreatedAtDate = view.getCreatedAt();
+            }
+        }
 
         final SimpleDateFormat sdf = new SimpleDateFormat(RestConstants.JSON_DATE_FORMAT);
         sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-
-        // we know that the first in the list is the most current
-        final Date latestCreatedAtDate = sortedViews.get(0).getCreatedAt();
         final String latestCreatedAtString = sdf.format(latestCreatedAtDate);
         return new DatePair(latestCreatedAtDate, latestCreatedAtString);
     }
@@ -27,7 +27,6 @@ import java.io.IOException;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 import com.synopsys.integration.blackduck.api.core.HubResponse;
@@ -40,28 +39,27 @@ import com.synopsys.integration.rest.request.Response;
 
 public class HubResponseTransformer {
     private final BlackDuckRestConnection restConnection;
-    private final JsonParser jsonParser;
     private final Gson gson;
     private final IntLogger logger;
 
-    public HubResponseTransformer(final BlackDuckRestConnection restConnection, final Gson gson, final JsonParser jsonParser, final IntLogger logger) {
+    public HubResponseTransformer(final BlackDuckRestConnection restConnection, final Gson gson, final IntLogger logger) {
         this.restConnection = restConnection;
-        this.jsonParser = jsonParser;
         this.gson = gson;
         this.logger = logger;
     }
 
+    /**
+     * @deprecated The JsonParser is no longer used. Use {@link #HubResponseTransformer(BlackDuckRestConnection, Gson, IntLogger)} instead.
+     */
+    @Deprecated
+    public HubResponseTransformer(final BlackDuckRestConnection restConnection, final Gson gson, final JsonParser jsonParser, final IntLogger logger) {
+        this(restConnection, gson, logger);
+    }
+
     public <T extends HubResponse> T getResponse(final Request request, final Class<T> clazz) throws IntegrationException {
         try (final Response response = restConnection.executeRequest(request)) {
             final String jsonResponse = response.getContentString();
-            final JsonObject jsonObject;
-            try {
-                jsonObject = jsonParser.parse(jsonResponse).getAsJsonObject();
-            } catch (final JsonSyntaxException e) {
-                logger.error(String.format("Could not parse the provided Json with JsonParser:%s%s", System.lineSeparator(), jsonResponse));
-                throw new HubIntegrationException(e.getMessage(), e);
-            }
-            return getResponseAs(jsonObject, clazz);
+            return getResponseAs(jsonResponse, clazz);
         } catch (final IOException e) {
             throw new HubIntegrationException(e.getMessage(), e);
         }
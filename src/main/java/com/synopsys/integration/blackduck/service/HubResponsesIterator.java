@@ -0,0 +1,97 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.service;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import com.synopsys.integration.blackduck.api.core.HubResponse;
+import com.synopsys.integration.blackduck.exception.HubIntegrationRuntimeException;
+import com.synopsys.integration.blackduck.service.model.PagedRequest;
+import com.synopsys.integration.blackduck.service.model.PagedResponseJson;
+import com.synopsys.integration.exception.IntegrationException;
+
+/**
+ * Lazily walks the pages of a request. A page is only requested once the items of the previous page have been consumed, and only the current page
+ * is held in memory. Any IntegrationException encountered while requesting a page is thrown as a HubIntegrationRuntimeException.
+ */
+public class HubResponsesIterator<T extends HubResponse> implements Iterator<T> {
+    private final HubResponsesTransformer hubResponsesTransformer;
+    private final PagedRequest pagedRequest;
+    private final Class<T> clazz;
+    private final Map<String, Class<? extends T>> typeMap;
+
+    private Iterator<T> currentPage = Collections.emptyIterator();
+    private int nextOffset;
+    private int totalCount = -1;
+    private boolean exhausted = false;
+
+    public HubResponsesIterator(final HubResponsesTransformer hubResponsesTransformer, final PagedRequest pagedRequest, final Class<T> clazz, final Map<String, Class<? extends T>> typeMap) {
+        this.hubResponsesTransformer = hubResponsesTransformer;
+        this.pagedRequest = pagedRequest;
+        this.clazz = clazz;
+        this.typeMap = typeMap;
+        nextOffset = pagedRequest.getOffset();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!currentPage.hasNext()) {
+            if (exhausted || (totalCount >= 0 && nextOffset >= totalCount)) {
+                return false;
+            }
+            currentPage = retrieveNextPage().iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return currentPage.next();
+    }
+
+    private List<T> retrieveNextPage() {
+        final PagedRequest offsetPagedRequest = new PagedRequest(pagedRequest.getRequestBuilder(), nextOffset, pagedRequest.getLimit());
+        try {
+            final PagedResponseJson pagedResponseJson = hubResponsesTransformer.getPagedResponseJson(offsetPagedRequest);
+            totalCount = pagedResponseJson.getTotalCount();
+            final List<T> pageResponses = hubResponsesTransformer.getPageResponses(pagedResponseJson, clazz, typeMap);
+            nextOffset += pagedRequest.getLimit();
+            if (pageResponses.isEmpty()) {
+                exhausted = true;
+            }
+            return pageResponses;
+        } catch (final IntegrationException e) {
+            exhausted = true;
+            throw new HubIntegrationRuntimeException(e);
+        }
+    }
+
+}
@@ -24,19 +24,32 @@
 package com.synopsys.integration.blackduck.service;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
 import com.synopsys.integration.blackduck.api.core.HubResponse;
 import com.synopsys.integration.blackduck.exception.HubIntegrationException;
 import com.synopsys.integration.blackduck.rest.BlackDuckRestConnection;
 import com.synopsys.integration.blackduck.service.model.PagedRequest;
+import com.synopsys.integration.blackduck.service.model.PagedResponseJson;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.log.IntLogger;
 import com.synopsys.integration.rest.request.Response;
@@ -44,16 +57,22 @@ import com.synopsys.integration.rest.request.Response;
 public class HubResponsesTransformer {
     private final BlackDuckRestConnection restConnection;
     private final HubResponseTransformer hubResponseTransformer;
-    private final JsonParser jsonParser;
     private final IntLogger logger;
 
-    public HubResponsesTransformer(final BlackDuckRestConnection restConnection, final HubResponseTransformer hubResponseTransformer, final JsonParser jsonParser, final IntLogger logger) {
+    public HubResponsesTransformer(final BlackDuckRestConnection restConnection, final HubResponseTransformer hubResponseTransformer, final IntLogger logger) {
         this.restConnection = restConnection;
         this.hubResponseTransformer = hubResponseTransformer;
-        this.jsonParser = jsonParser;
         this.logger = logger;
     }
 
+    /**
+     * @deprecated The JsonParser is no longer used. Use {@link #HubResponsesTransformer(BlackDuckRestConnection, HubResponseTransformer, IntLogger)} instead.
+     */
+    @Deprecated
+    public HubResponsesTransformer(final BlackDuckRestConnection restConnection, final HubResponseTransformer hubResponseTransformer, final JsonParser jsonParser, final IntLogger logger) {
+        this(restConnection, hubResponseTransformer, logger);
+    }
+
     public <T extends HubResponse> List<T> getResponses(final PagedRequest pagedRequest, final Class<T> clazz) throws IntegrationException {
         return getResponses(pagedRequest, clazz, true, null);
     }
@@ -64,53 +83,124 @@ public class HubResponsesTransformer {
 
     public <T extends HubResponse> List<T> getResponses(final PagedRequest pagedRequest, final Class<T> clazz, final boolean getAll, final Map<String, Class<? extends T>> typeMap) throws IntegrationException {
         final List<T> allResponses = new LinkedList<>();
-        int totalCount = 0;
         int currentOffset = pagedRequest.getOffset();
-        try (final Response initialResponse = restConnection.executeRequest(pagedRequest.createRequest())) {
-            final String initialJsonResponse = initialResponse.getContentString();
-            final JsonObject initialJsonObject;
-            try {
-                initialJsonObject = jsonParser.parse(initialJsonResponse).getAsJsonObject();
-            } catch (final JsonSyntaxException e) {
-                logger.error(String.format("Could not parse the initial provided Json responses with JsonParser:%s%s", System.lineSeparator(), initialJsonResponse));
-                throw new HubIntegrationException(e.getMessage(), e);
-            }
-            if (typeMap != null) {
-                allResponses.addAll(getResponses(initialJsonObject, clazz, typeMap));
-            } else {
-                allResponses.addAll(getResponses(initialJsonObject, clazz));
+        final PagedResponseJson initialPage = getPagedResponseJson(pagedRequest);
+        allResponses.addAll(getPageResponses(initialPage, clazz, typeMap));
+        if (!getAll) {
+            return allResponses;
+        }
+        final int totalCount = initialPage.getTotalCount();
+        while (allResponses.size() < totalCount && currentOffset < totalCount) {
+            currentOffset += pagedRequest.getLimit();
+            final PagedRequest offsetPagedRequest = new PagedRequest(pagedRequest.getRequestBuilder(), currentOffset, pagedRequest.getLimit());
+            allResponses.addAll(getPageResponses(getPagedResponseJson(offsetPagedRequest), clazz, typeMap));
+        }
+        return allResponses;
+    }
+
+    /**
+     * Returns an Iterator that requests each page only when the previous page has been consumed. Failures are thrown as
+     * HubIntegrationRuntimeException.
+     */
+    public <T extends HubResponse> Iterator<T> getResponsesIterator(final PagedRequest pagedRequest, final Class<T> clazz, final Map<String, Class<? extends T>> typeMap) {
+        return new HubResponsesIterator<>(this, pagedRequest, clazz, typeMap);
+    }
+
+    /**
+     * Returns a sequential Stream backed by getResponsesIterator, so short-circuiting operations such as findFirst stop requesting pages once
+     * they are satisfied.
+     */
+    public <T extends HubResponse> Stream<T> streamResponses(final PagedRequest pagedRequest, final Class<T> clazz, final Map<String, Class<? extends T>> typeMap) {
+        final Iterator<T> iterator = getResponsesIterator(pagedRequest, clazz, typeMap);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Retrieves all the pages of the request, fetching every page after the first concurrently. The first page is used to discover the totalCount,
+     * then every remaining offset is requested with at most maxConcurrentRequests in flight. The responses are returned in offset order.
+     * A thread pool of maxConcurrentRequests threads is created for the duration of the call.
+     */
+    public <T extends HubResponse> List<T> getAllResponsesConcurrently(final PagedRequest pagedRequest, final Class<T> clazz, final Map<String, Class<? extends T>> typeMap, final int maxConcurrentRequests)
+            throws IntegrationException {
+        final ExecutorService executorService = Executors.newFixedThreadPool(maxConcurrentRequests);
+        try {
+            return getAllResponsesConcurrently(pagedRequest, clazz, typeMap, maxConcurrentRequests, executorService);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Retrieves all the pages of the request, fetching every page after the first concurrently using the provided executor. At most
+     * maxConcurrentRequests pages will be in flight at once, regardless of the size of the executor. The responses are returned in offset order.
+     * NOTE: it is up to the caller to shutdown the executor
+     */
+    public <T extends HubResponse> List<T> getAllResponsesConcurrently(final PagedRequest pagedRequest, final Class<T> clazz, final Map<String, Class<? extends T>> typeMap, final int maxConcurrentRequests,
+            final ExecutorService executorService) throws IntegrationException {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("The maximum number of concurrent requests must be at least 1.");
+        }
+
+        final PagedResponseJson initialPage = getPagedResponseJson(pagedRequest);
+        final List<T> initialResponses = getPageResponses(initialPage, clazz, typeMap);
+        final int totalCount = initialPage.getTotalCount();
+        final int limit = pagedRequest.getLimit();
+
+        final List<PagedRequest> remainingPages = new ArrayList<>();
+        for (int offset = pagedRequest.getOffset() + limit; offset < totalCount; offset += limit) {
+            remainingPages.add(pagedRequest.copyForOffset(offset));
+        }
+
+        final List<T> allResponses = new ArrayList<>(Math.max(totalCount, initialResponses.size()));
+        allResponses.addAll(initialResponses);
+        if (remainingPages.isEmpty()) {
+            return allResponses;
+        }
+
+        final Semaphore inFlightPermits = new Semaphore(maxConcurrentRequests);
+        final AtomicBoolean pageFailed = new AtomicBoolean(false);
+        final List<Future<List<T>>> pageFutures = new ArrayList<>(remainingPages.size());
+        try {
+            for (final PagedRequest pageRequest : remainingPages) {
+                inFlightPermits.acquire();
+                if (pageFailed.get()) {
+                    // the failed page is among the submitted futures and is reported when they are collected
+                    inFlightPermits.release();
+                    break;
+                }
+                try {
+                    pageFutures.add(executorService.submit(() -> {
+                        try {
+                            return getPageResponses(getPagedResponseJson(pageRequest), clazz, typeMap);
+                        } catch (final Exception e) {
+                            pageFailed.set(true);
+                            throw e;
+                        } finally {
+                            inFlightPermits.release();
+                        }
+                    }));
+                } catch (final RuntimeException e) {
+                    inFlightPermits.release();
+                    throw e;
+                }
             }
-            if (getAll) {
-                totalCount = initialJsonObject.get("totalCount").getAsInt();
-            } else {
-                return allResponses;
+            for (final Future<List<T>> pageFuture : pageFutures) {
+                allResponses.addAll(pageFuture.get());
             }
-            while (allResponses.size() < totalCount && currentOffset < totalCount) {
-                currentOffset += pagedRequest.getLimit();
-                final PagedRequest offsetPagedRequest = new PagedRequest(pagedRequest.getRequestBuilder(), currentOffset, pagedRequest.getLimit());
-                try (final Response response = restConnection.executeRequest(offsetPagedRequest.createRequest())) {
-                    final String jsonResponse = response.getContentString();
-                    final JsonObject jsonObject;
-                    try {
-                        jsonObject = jsonParser.parse(jsonResponse).getAsJsonObject();
-                    } catch (final JsonSyntaxException e) {
-                        logger.error(String.format("Could not parse the provided Json responses with JsonParser:%s%s", System.lineSeparator(), jsonResponse));
-                        throw new HubIntegrationException(e.getMessage(), e);
-                    }
-                    if (typeMap != null) {
-                        allResponses.addAll(getResponses(jsonObject, clazz, typeMap));
-                    } else {
-                        allResponses.addAll(getResponses(jsonObject, clazz));
-                    }
-                } catch (final IOException e) {
-                    throw new HubIntegrationException(e);
-                }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HubIntegrationException("Interrupted while retrieving the pages concurrently: " + e.getMessage(), e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IntegrationException) {
+                throw (IntegrationException) cause;
             }
-        } catch (final IOException e) {
-            throw new HubIntegrationException(e.getMessage(), e);
+            throw new HubIntegrationException(String.format("Could not retrieve a page of responses: %s", cause.getMessage()), cause);
+        } finally {
+            pageFutures.forEach(pageFuture -> pageFuture.cancel(true));
         }
-        return allResponses;
 
+        return allResponses;
     }
 
     public <T extends HubResponse> List<T> getResponses(final JsonArray responsesArray, final Class<T> clazz) {
@@ -152,4 +242,38 @@ public class HubResponsesTransformer {
         return responseList;
     }
 
+    PagedResponseJson getPagedResponseJson(final PagedRequest pagedRequest) throws IntegrationException {
+        try (final Response response = restConnection.executeRequest(pagedRequest.createRequest())) {
+            final String jsonResponse = response.getContentString();
+            try {
+                return PagedResponseJson.scan(jsonResponse);
+            } catch (final HubIntegrationException e) {
+                logger.error(String.format("Could not parse the provided Json responses:%s%s", System.lineSeparator(), jsonResponse));
+                throw e;
+            }
+        } catch (final IOException e) {
+            throw new HubIntegrationException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Each item is deserialized straight from its own slice of the page, and that slice becomes the item's json, so no tree is built and nothing is
+     * serialized again.
+     */
+    <T extends HubResponse> List<T> getPageResponses(final PagedResponseJson pagedResponseJson, final Class<T> clazz, final Map<String, Class<? extends T>> typeMap) throws IntegrationException {
+        final List<T> responseList = new ArrayList<>(pagedResponseJson.getItemCount());
+        for (int i = 0; i < pagedResponseJson.getItemCount(); i++) {
+            Class<? extends T> actualClass = clazz;
+            if (typeMap != null) {
+                final Optional<String> type = pagedResponseJson.getItemStringField(i, "type");
+                if (type.isPresent() && typeMap.containsKey(type.get())) {
+                    actualClass = typeMap.get(type.get());
+                }
+            }
+            final T item = hubResponseTransformer.getResponseAs(pagedResponseJson.getItemJson(i), actualClass);
+            responseList.add(item);
+        }
+        return responseList;
+    }
+
 }
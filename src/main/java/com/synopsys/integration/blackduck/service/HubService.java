@@ -29,6 +29,9 @@ import java.net.URL;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -47,6 +50,7 @@ import com.synopsys.integration.blackduck.api.core.ResourceMetadata;
 import com.synopsys.integration.blackduck.api.view.MetaHandler;
 import com.synopsys.integration.blackduck.exception.HubIntegrationException;
 import com.synopsys.integration.blackduck.rest.BlackDuckRestConnection;
+import com.synopsys.integration.blackduck.service.cache.HubResponseCache;
 import com.synopsys.integration.blackduck.service.model.PagedRequest;
 import com.synopsys.integration.blackduck.service.model.RequestFactory;
 import com.synopsys.integration.exception.IntegrationException;
@@ -66,15 +70,24 @@ public class HubService {
     private final URL hubBaseUrl;
     private final JsonParser jsonParser;
     private final Gson gson;
+    private final Optional<HubResponseCache> hubResponseCache;
 
     public HubService(final IntLogger logger, final BlackDuckRestConnection restConnection, final Gson gson, final JsonParser jsonParser) {
+        this(logger, restConnection, gson, jsonParser, null);
+    }
+
+    /**
+     * @param hubResponseCache when not null, single responses retrieved with a GET will be served from (and stored in) this cache
+     */
+    public HubService(final IntLogger logger, final BlackDuckRestConnection restConnection, final Gson gson, final JsonParser jsonParser, final HubResponseCache hubResponseCache) {
         this.restConnection = restConnection;
+        this.hubResponseCache = Optional.ofNullable(hubResponseCache);
         hubBaseUrl = restConnection.getBaseUrl();
         this.jsonParser = jsonParser;
         this.gson = gson;
         metaHandler = new MetaHandler(logger);
-        hubResponseTransformer = new HubResponseTransformer(restConnection, gson, jsonParser, logger);
-        hubResponsesTransformer = new HubResponsesTransformer(restConnection, hubResponseTransformer, jsonParser, logger);
+        hubResponseTransformer = new HubResponseTransformer(restConnection, gson, logger);
+        hubResponsesTransformer = new HubResponsesTransformer(restConnection, hubResponseTransformer, logger);
     }
 
     public BlackDuckRestConnection getRestConnection() {
@@ -93,6 +106,10 @@ public class HubService {
         return gson;
     }
 
+    public Optional<HubResponseCache> getHubResponseCache() {
+        return hubResponseCache;
+    }
+
     public String convertToJson(final Object obj) {
         return gson.toJson(obj);
     }
@@ -164,7 +181,7 @@ public class HubService {
     public <T extends HubResponse> T getResponse(final HubPathSingleResponse<T> hubPathSingleResponse) throws IntegrationException {
         final String uri = pieceTogetherUri(hubBaseUrl, hubPathSingleResponse.hubPath.getPath());
         final Request request = RequestFactory.createCommonGetRequest(uri);
-        return hubResponseTransformer.getResponse(request, hubPathSingleResponse.responseClass);
+        return getResponse(request, hubPathSingleResponse.responseClass);
     }
 
     // ------------------------------------------------
@@ -212,7 +229,7 @@ public class HubService {
             return null;
         }
         final Request request = RequestFactory.createCommonGetRequest(uri);
-        return hubResponseTransformer.getResponse(request, linkSingleResponse.responseClass);
+        return getResponse(request, linkSingleResponse.responseClass);
     }
 
     // ------------------------------------------------
@@ -233,7 +250,7 @@ public class HubService {
 
     public <T extends HubResponse> T getResponse(final String uri, final Class<T> responseClass) throws IntegrationException {
         final Request request = RequestFactory.createCommonGetRequest(uri);
-        return hubResponseTransformer.getResponse(request, responseClass);
+        return getResponse(request, responseClass);
     }
 
     // ------------------------------------------------
@@ -241,7 +258,95 @@ public class HubService {
     // ------------------------------------------------
     public <T extends HubResponse> T getResponse(final UriSingleResponse<T> uriSingleResponse) throws IntegrationException {
         final Request request = RequestFactory.createCommonGetRequest(uriSingleResponse.uri);
-        return hubResponseTransformer.getResponse(request, uriSingleResponse.responseClass);
+        return getResponse(request, uriSingleResponse.responseClass);
+    }
+
+    // ------------------------------------------------
+    // streaming responses, requesting each page only as it is needed
+    // failures are thrown as HubIntegrationRuntimeException
+    // ------------------------------------------------
+    public <T extends HubResponse> Stream<T> streamAllResponses(final HubPathMultipleResponses<T> hubPathMultipleResponses) throws IntegrationException {
+        final String uri = pieceTogetherUri(hubBaseUrl, hubPathMultipleResponses.hubPath.getPath());
+        final Request.Builder requestBuilder = RequestFactory.createCommonGetRequestBuilder(uri);
+        return hubResponsesTransformer.streamResponses(new PagedRequest(requestBuilder), hubPathMultipleResponses.responseClass, null);
+    }
+
+    public <T extends HubResponse> Stream<T> streamAllResponses(final HubPathMultipleResponses<T> hubPathMultipleResponses, final Request.Builder requestBuilder) throws IntegrationException {
+        return streamAllResponses(hubPathMultipleResponses, requestBuilder, null);
+    }
+
+    public <T extends HubResponse> Stream<T> streamAllResponses(final HubPathMultipleResponses<T> hubPathMultipleResponses, final Request.Builder requestBuilder, final Map<String, Class<? extends T>> typeMap)
+            throws IntegrationException {
+        final String uri = pieceTogetherUri(hubBaseUrl, hubPathMultipleResponses.hubPath.getPath());
+        requestBuilder.uri(uri);
+        return hubResponsesTransformer.streamResponses(new PagedRequest(requestBuilder), hubPathMultipleResponses.responseClass, typeMap);
+    }
+
+    public <T extends HubResponse> Stream<T> streamAllResponses(final HubView hubView, final LinkMultipleResponses<T> linkMultipleResponses) {
+        final String uri = metaHandler.getFirstLinkSafely(hubView, linkMultipleResponses.link);
+        if (StringUtils.isBlank(uri)) {
+            return Stream.empty();
+        }
+        final Request.Builder requestBuilder = RequestFactory.createCommonGetRequestBuilder(uri);
+        return hubResponsesTransformer.streamResponses(new PagedRequest(requestBuilder), linkMultipleResponses.responseClass, null);
+    }
+
+    public <T extends HubResponse> Stream<T> streamAllResponses(final HubView hubView, final LinkMultipleResponses<T> linkMultipleResponses, final Request.Builder requestBuilder,
+            final Map<String, Class<? extends T>> typeMap) {
+        final String uri = metaHandler.getFirstLinkSafely(hubView, linkMultipleResponses.link);
+        if (StringUtils.isBlank(uri)) {
+            return Stream.empty();
+        }
+        requestBuilder.uri(uri);
+        return hubResponsesTransformer.streamResponses(new PagedRequest(requestBuilder), linkMultipleResponses.responseClass, typeMap);
+    }
+
+    public <T extends HubResponse> Stream<T> streamAllResponses(final Request.Builder requestBuilder, final Class<T> responseClass) {
+        return hubResponsesTransformer.streamResponses(new PagedRequest(requestBuilder), responseClass, null);
+    }
+
+    // ------------------------------------------------
+    // getting all responses, fetching the pages concurrently
+    // ------------------------------------------------
+    public <T extends HubResponse> List<T> getAllResponsesConcurrently(final HubPathMultipleResponses<T> hubPathMultipleResponses, final int maxConcurrentRequests) throws IntegrationException {
+        final String uri = pieceTogetherUri(hubBaseUrl, hubPathMultipleResponses.hubPath.getPath());
+        final Request.Builder requestBuilder = RequestFactory.createCommonGetRequestBuilder(uri);
+        return hubResponsesTransformer.getAllResponsesConcurrently(new PagedRequest(requestBuilder), hubPathMultipleResponses.responseClass, null, maxConcurrentRequests);
+    }
+
+    public <T extends HubResponse> List<T> getAllResponsesConcurrently(final HubPathMultipleResponses<T> hubPathMultipleResponses, final Request.Builder requestBuilder, final Map<String, Class<? extends T>> typeMap,
+            final int maxConcurrentRequests, final ExecutorService executorService) throws IntegrationException {
+        final String uri = pieceTogetherUri(hubBaseUrl, hubPathMultipleResponses.hubPath.getPath());
+        requestBuilder.uri(uri);
+        return hubResponsesTransformer.getAllResponsesConcurrently(new PagedRequest(requestBuilder), hubPathMultipleResponses.responseClass, typeMap, maxConcurrentRequests, executorService);
+    }
+
+    public <T extends HubResponse> List<T> getAllResponsesConcurrently(final HubView hubView, final LinkMultipleResponses<T> linkMultipleResponses, final int maxConcurrentRequests) throws IntegrationException {
+        final String uri = metaHandler.getFirstLinkSafely(hubView, linkMultipleResponses.link);
+        if (StringUtils.isBlank(uri)) {
+            return Collections.emptyList();
+        }
+        final Request.Builder requestBuilder = RequestFactory.createCommonGetRequestBuilder(uri);
+        return hubResponsesTransformer.getAllResponsesConcurrently(new PagedRequest(requestBuilder), linkMultipleResponses.responseClass, null, maxConcurrentRequests);
+    }
+
+    public <T extends HubResponse> List<T> getAllResponsesConcurrently(final HubView hubView, final LinkMultipleResponses<T> linkMultipleResponses, final Request.Builder requestBuilder,
+            final Map<String, Class<? extends T>> typeMap, final int maxConcurrentRequests, final ExecutorService executorService) throws IntegrationException {
+        final String uri = metaHandler.getFirstLinkSafely(hubView, linkMultipleResponses.link);
+        if (StringUtils.isBlank(uri)) {
+            return Collections.emptyList();
+        }
+        requestBuilder.uri(uri);
+        return hubResponsesTransformer.getAllResponsesConcurrently(new PagedRequest(requestBuilder), linkMultipleResponses.responseClass, typeMap, maxConcurrentRequests, executorService);
+    }
+
+    public <T extends HubResponse> List<T> getAllResponsesConcurrently(final Request.Builder requestBuilder, final Class<T> responseClass, final int maxConcurrentRequests) throws IntegrationException {
+        return hubResponsesTransformer.getAllResponsesConcurrently(new PagedRequest(requestBuilder), responseClass, null, maxConcurrentRequests);
+    }
+
+    public <T extends HubResponse> List<T> getAllResponsesConcurrently(final Request.Builder requestBuilder, final Class<T> responseClass, final Map<String, Class<? extends T>> typeMap, final int maxConcurrentRequests,
+            final ExecutorService executorService) throws IntegrationException {
+        return hubResponsesTransformer.getAllResponsesConcurrently(new PagedRequest(requestBuilder), responseClass, typeMap, maxConcurrentRequests, executorService);
     }
 
     // ------------------------------------------------
@@ -273,8 +378,17 @@ public class HubService {
         return executeRequest(requestBuilder.build());
     }
 
+    /**
+     * Any request other than a GET removes its uri from the response cache, so callers always see their own writes.
+     */
     public Response executeRequest(final Request request) throws IntegrationException {
-        return restConnection.executeRequest(request);
+        try {
+            return restConnection.executeRequest(request);
+        } finally {
+            if (hubResponseCache.isPresent() && HttpMethod.GET != request.getMethod()) {
+                hubResponseCache.get().invalidate(request.getUri());
+            }
+        }
     }
 
     // ------------------------------------------------
@@ -294,6 +408,14 @@ public class HubService {
         }
     }
 
+    private <T extends HubResponse> T getResponse(final Request request, final Class<T> responseClass) throws IntegrationException {
+        if (hubResponseCache.isPresent()) {
+            final String json = hubResponseCache.get().getJson(request);
+            return hubResponseTransformer.getResponseAs(json, responseClass);
+        }
+        return hubResponseTransformer.getResponse(request, responseClass);
+    }
+
     private String pieceTogetherUri(final URL baseURL, final String spec) throws HubIntegrationException {
         final URL url;
         try {
@@ -34,11 +34,13 @@ import org.apache.http.impl.client.HttpClientBuilder;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParser;
+import com.synopsys.integration.blackduck.codelocation.BomComputedPoller;
 import com.synopsys.integration.blackduck.codelocation.CodeLocationCreationService;
 import com.synopsys.integration.blackduck.notification.content.detail.NotificationContentDetailFactory;
 import com.synopsys.integration.blackduck.phonehome.BlackDuckPhoneHomeCallable;
 import com.synopsys.integration.blackduck.rest.BlackDuckRestConnection;
 import com.synopsys.integration.blackduck.service.bucket.HubBucketService;
+import com.synopsys.integration.blackduck.service.cache.HubResponseCache;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.log.IntLogger;
 import com.synopsys.integration.phonehome.PhoneHomeClient;
@@ -55,6 +57,7 @@ public class HubServicesFactory {
     private final JsonParser jsonParser;
     private final BlackDuckRestConnection restConnection;
     private final IntLogger logger;
+    private HubResponseCache hubResponseCache;
 
     public static Gson createDefaultGson() {
         return createDefaultGsonBuilder().create();
@@ -85,11 +88,18 @@ public class HubServicesFactory {
     }
 
     public CodeLocationCreationService createCodeLocationCreationService() {
-        final HubService hubService = createHubService();
-        final CodeLocationService codeLocationService = createCodeLocationService();
-        final NotificationService notificationService = createNotificationService();
+        return new CodeLocationCreationService(createHubService(), logger, createCodeLocationService(), createNotificationService());
+    }
+
+    /**
+     * @param bomComputedPoller Typically the one from createSharedBomComputedPoller, so that every CodeLocationCreationService from this connection polls together.
+     */
+    public CodeLocationCreationService createCodeLocationCreationService(final BomComputedPoller bomComputedPoller) {
+        return new CodeLocationCreationService(createHubService(), logger, createCodeLocationService(), createNotificationService(), bomComputedPoller);
+    }
 
-        return new CodeLocationCreationService(hubService, logger, codeLocationService, notificationService);
+    public BomComputedPoller createSharedBomComputedPoller() {
+        return BomComputedPoller.getShared(restConnection, createCodeLocationService(), createNotificationService(), logger);
     }
 
     public CodeLocationService createCodeLocationService() {
@@ -100,6 +110,10 @@ public class HubServicesFactory {
         return new CommonNotificationService(notificationContentDetailFactory, oldestFirst);
     }
 
+    public CommonNotificationService createCommonNotificationService(final NotificationContentDetailFactory notificationContentDetailFactory, final boolean oldestFirst, final ExecutorService executorService) {
+        return new CommonNotificationService(notificationContentDetailFactory, oldestFirst, executorService);
+    }
+
     public ComponentService createComponentService() {
         return new ComponentService(createHubService(), logger);
     }
@@ -108,8 +122,12 @@ public class HubServicesFactory {
         return new HubRegistrationService(createHubService(), logger);
     }
 
+    public HubResponseCache createHubResponseCache(final int maximumEntries, final long maximumSizeInCharacters, final long timeToLiveInMilliseconds) {
+        return new HubResponseCache(restConnection, maximumEntries, maximumSizeInCharacters, timeToLiveInMilliseconds);
+    }
+
     public HubService createHubService() {
-        return new HubService(logger, restConnection, gson, jsonParser);
+        return new HubService(logger, restConnection, gson, jsonParser, hubResponseCache);
     }
 
     public HubBucketService createHubBucketService() {
@@ -189,6 +207,17 @@ public class HubServicesFactory {
         intEnvironmentVariables.putAll(environmentVariables);
     }
 
+    /**
+     * Every service created after this is set will share the cache for single GET responses. Set to null to stop caching.
+     */
+    public void setHubResponseCache(final HubResponseCache hubResponseCache) {
+        this.hubResponseCache = hubResponseCache;
+    }
+
+    public HubResponseCache getHubResponseCache() {
+        return hubResponseCache;
+    }
+
     public BlackDuckRestConnection getRestConnection() {
         return restConnection;
     }
@@ -24,6 +24,8 @@
 package com.synopsys.integration.blackduck.service;
 
 import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.List;
 import java.util.TimeZone;
@@ -35,6 +37,8 @@ import com.synopsys.integration.blackduck.api.generated.enumeration.Notification
 import com.synopsys.integration.blackduck.api.generated.view.NotificationUserView;
 import com.synopsys.integration.blackduck.api.generated.view.NotificationView;
 import com.synopsys.integration.blackduck.api.generated.view.UserView;
+import com.synopsys.integration.blackduck.notification.NotificationCursor;
+import com.synopsys.integration.blackduck.notification.NotificationCursorStore;
 import com.synopsys.integration.blackduck.service.model.HubFilter;
 import com.synopsys.integration.blackduck.service.model.RequestFactory;
 import com.synopsys.integration.exception.IntegrationException;
@@ -43,6 +47,9 @@ import com.synopsys.integration.rest.RestConstants;
 import com.synopsys.integration.rest.request.Request;
 
 public class NotificationService extends DataService {
+    // how far past the client's clock a cursor reads, so that notifications stamped by a server clock that is ahead are not skipped
+    public static final long CURSOR_CLOCK_SKEW_DAYS = 3;
+
     public NotificationService(final HubService hubService, final IntLogger logger) {
         super(hubService, logger);
     }
@@ -79,6 +86,41 @@ public class NotificationService extends DataService {
         return allUserNotificationItems;
     }
 
+    /**
+     * @return The notifications of the given types created after the cursor. Notifications at the cursor's own timestamp that were already seen are excluded.
+     * @throws IntegrationException
+     */
+    public List<NotificationView> getNotificationsAfterCursor(final NotificationCursor notificationCursor, final List<String> notificationTypesToInclude) throws IntegrationException {
+        // the start of the window is the cursor itself so that notifications sharing its timestamp are not missed
+        final Date endDate = Date.from(Instant.now().plus(CURSOR_CLOCK_SKEW_DAYS, ChronoUnit.DAYS));
+        final List<NotificationView> notificationViews = getFilteredNotifications(notificationCursor.getLastCreatedAt(), endDate, notificationTypesToInclude);
+        return notificationViews
+                       .stream()
+                       .filter(notificationCursor::isAfterCursor)
+                       .collect(Collectors.toList());
+    }
+
+    /**
+     * Loads the stored cursor, or starts one at initialStartDate if none has been stored yet, and returns the notifications after it. The
+     * cursor is not advanced - once the notifications have been processed, pass them to advanceCursor so that a restart will not process them again.
+     * @throws IntegrationException
+     */
+    public List<NotificationView> getNotificationsAfterStoredCursor(final NotificationCursorStore notificationCursorStore, final Date initialStartDate, final List<String> notificationTypesToInclude) throws IntegrationException {
+        final NotificationCursor notificationCursor = notificationCursorStore.load().orElse(NotificationCursor.startingAt(initialStartDate));
+        return getNotificationsAfterCursor(notificationCursor, notificationTypesToInclude);
+    }
+
+    /**
+     * @return The stored cursor moved past the processed notifications. The moved cursor is saved before it is returned.
+     * @throws IntegrationException
+     */
+    public NotificationCursor advanceCursor(final NotificationCursorStore notificationCursorStore, final Date initialStartDate, final List<NotificationView> processedNotifications) throws IntegrationException {
+        final NotificationCursor notificationCursor = notificationCursorStore.load().orElse(NotificationCursor.startingAt(initialStartDate));
+        final NotificationCursor advancedCursor = notificationCursor.advance(processedNotifications);
+        notificationCursorStore.save(advancedCursor);
+        return advancedCursor;
+    }
+
     /**
      * @return The java.util.Date of the most recent notification. If there are no notifications, the current date will be returned. This can set an initial start time window for all future notifications.
      * @throws IntegrationException
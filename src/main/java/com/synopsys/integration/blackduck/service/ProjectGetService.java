@@ -29,6 +29,7 @@ import java.util.Optional;
 import com.synopsys.integration.blackduck.api.generated.discovery.ApiDiscovery;
 import com.synopsys.integration.blackduck.api.generated.view.ProjectVersionView;
 import com.synopsys.integration.blackduck.api.generated.view.ProjectView;
+import com.synopsys.integration.blackduck.exception.HubIntegrationRuntimeException;
 import com.synopsys.integration.blackduck.service.model.HubQuery;
 import com.synopsys.integration.blackduck.service.model.RequestFactory;
 import com.synopsys.integration.exception.IntegrationException;
@@ -57,14 +58,16 @@ public class ProjectGetService extends DataService {
     }
 
     public Optional<ProjectView> getProjectViewByProjectName(final String projectName) throws IntegrationException {
-        final List<ProjectView> allProjectItems = getAllProjectMatches(projectName);
-        for (final ProjectView project : allProjectItems) {
-            if (projectName.equalsIgnoreCase(project.name)) {
-                return Optional.of(project);
-            }
-        }
+        final Optional<HubQuery> hubQuery = HubQuery.createQuery("name", projectName);
+        final Request.Builder requestBuilder = RequestFactory.createCommonGetRequestBuilder(hubQuery);
 
-        return Optional.empty();
+        try {
+            return hubService.streamAllResponses(ApiDiscovery.PROJECTS_LINK_RESPONSE, requestBuilder)
+                           .filter(project -> projectName.equalsIgnoreCase(project.name))
+                           .findFirst();
+        } catch (final HubIntegrationRuntimeException e) {
+            throw e.getCause();
+        }
     }
 
     public Optional<ProjectVersionView> getProjectVersionViewByProjectVersionName(final ProjectView projectView, final String projectVersionName) throws IntegrationException {
@@ -26,6 +26,7 @@ package com.synopsys.integration.blackduck.service;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import com.synopsys.integration.blackduck.api.generated.discovery.ApiDiscovery;
@@ -35,6 +36,7 @@ import com.synopsys.integration.blackduck.api.generated.view.RoleAssignmentView;
 import com.synopsys.integration.blackduck.api.generated.view.UserGroupView;
 import com.synopsys.integration.blackduck.api.generated.view.UserView;
 import com.synopsys.integration.blackduck.exception.DoesNotExistException;
+import com.synopsys.integration.blackduck.exception.HubIntegrationRuntimeException;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.log.IntLogger;
 
@@ -48,13 +50,15 @@ public class UserGroupService {
     }
 
     public UserView getUserByUsername(final String username) throws IntegrationException {
-        final List<UserView> allUsers = hubService.getAllResponses(ApiDiscovery.USERS_LINK_RESPONSE);
-        for (final UserView user : allUsers) {
-            if (user.userName.equalsIgnoreCase(username)) {
-                return user;
-            }
+        final Optional<UserView> matchingUser;
+        try {
+            matchingUser = hubService.streamAllResponses(ApiDiscovery.USERS_LINK_RESPONSE)
+                                   .filter(user -> user.userName.equalsIgnoreCase(username))
+                                   .findFirst();
+        } catch (final HubIntegrationRuntimeException e) {
+            throw e.getCause();
         }
-        throw new DoesNotExistException("This User does not exist. UserName : " + username);
+        return matchingUser.orElseThrow(() -> new DoesNotExistException("This User does not exist. UserName : " + username));
     }
 
     public List<ProjectView> getProjectsForUser(final String userName) throws IntegrationException {
@@ -108,13 +112,15 @@ public class UserGroupService {
     }
 
     public UserGroupView getGroupByName(final String groupName) throws IntegrationException {
-        final List<UserGroupView> allGroups = hubService.getAllResponses(ApiDiscovery.USERGROUPS_LINK_RESPONSE);
-        for (final UserGroupView group : allGroups) {
-            if (group.name.equalsIgnoreCase(groupName)) {
-                return group;
-            }
+        final Optional<UserGroupView> matchingGroup;
+        try {
+            matchingGroup = hubService.streamAllResponses(ApiDiscovery.USERGROUPS_LINK_RESPONSE)
+                                    .filter(group -> group.name.equalsIgnoreCase(groupName))
+                                    .findFirst();
+        } catch (final HubIntegrationRuntimeException e) {
+            throw e.getCause();
         }
-        throw new DoesNotExistException("This Group does not exist. Group name : " + groupName);
+        return matchingGroup.orElseThrow(() -> new DoesNotExistException("This Group does not exist. Group name : " + groupName));
     }
 
 }
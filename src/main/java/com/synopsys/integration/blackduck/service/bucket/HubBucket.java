@@ -26,6 +26,8 @@ package com.synopsys.integration.blackduck.service.bucket;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.synopsys.integration.blackduck.api.UriSingleResponse;
@@ -33,6 +35,7 @@ import com.synopsys.integration.blackduck.api.core.HubResponse;
 
 public class HubBucket {
     private final Map<String, HubBucketItem<HubResponse>> bucket = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<HubBucketItem<HubResponse>>> fills = new ConcurrentHashMap<>();
 
     public boolean contains(final String uri) {
         return bucket.containsKey(uri);
@@ -90,7 +93,61 @@ public class HubBucket {
     }
 
     public HubBucketItem<HubResponse> remove(final String uri) {
+        fills.remove(uri);
         return bucket.remove(uri);
     }
 
+    /**
+     * The fill of the uri completes with its bucket item once the uri has been retrieved, whether the retrieval succeeded or not. A uri that was
+     * added to the bucket directly has an already completed fill.
+     */
+    public Optional<CompletableFuture<HubBucketItem<HubResponse>>> getFill(final String uri) {
+        final CompletableFuture<HubBucketItem<HubResponse>> fill = fills.get(uri);
+        if (fill != null) {
+            return Optional.of(fill);
+        }
+        final HubBucketItem<HubResponse> bucketItem = bucket.get(uri);
+        if (bucketItem != null) {
+            return Optional.of(CompletableFuture.completedFuture(bucketItem));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Completes with the response once the uri has been retrieved, or exceptionally with the error the retrieval encountered. The mapping of uri
+     * to response type is assumed to be correct, as it is for get(UriSingleResponse).
+     */
+    public <T extends HubResponse> Optional<CompletableFuture<T>> getResponseFuture(final UriSingleResponse<T> uriSingleResponse) {
+        return getFill(uriSingleResponse.uri).map(fill -> fill.thenApply(bucketItem -> {
+            if (bucketItem.hasException()) {
+                throw new CompletionException(bucketItem.getE().get());
+            }
+            return uriSingleResponse.responseClass.cast(bucketItem.getHubResponse().orElse(null));
+        }));
+    }
+
+    /**
+     * Gives the bucket a chance to supply the response without contacting the server. If it can, the response is added to the bucket and true is
+     * returned. An in-memory bucket never can.
+     */
+    public boolean restore(final UriSingleResponse<? extends HubResponse> uriSingleResponse) {
+        return false;
+    }
+
+    /**
+     * Claims the responsibility of filling the uri. If no fill was registered for the uri yet, the provided fill is registered and null is
+     * returned, meaning the caller must retrieve the uri and complete the fill. Otherwise the fill that is already registered is returned so
+     * the caller can share it instead of retrieving the uri a second time.
+     */
+    public CompletableFuture<HubBucketItem<HubResponse>> registerFill(final String uri, final CompletableFuture<HubBucketItem<HubResponse>> fill) {
+        return fills.putIfAbsent(uri, fill);
+    }
+
+    /**
+     * Gives up the claim on filling the uri, but only if the provided fill is still the one registered for it.
+     */
+    public void unregisterFill(final String uri, final CompletableFuture<HubBucketItem<HubResponse>> fill) {
+        fills.remove(uri, fill);
+    }
+
 }
@@ -23,32 +23,64 @@
  */
 package com.synopsys.integration.blackduck.service.bucket;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.synopsys.integration.blackduck.api.UriSingleResponse;
 import com.synopsys.integration.blackduck.api.core.HubResponse;
+import com.synopsys.integration.blackduck.exception.HubIntegrationException;
 import com.synopsys.integration.blackduck.service.HubService;
 
 public class HubBucketFillTask implements Runnable {
     private final HubService hubService;
     private final HubBucket hubBucket;
     private final UriSingleResponse<? extends HubResponse> uriSingleResponse;
+    private final CompletableFuture<HubBucketItem<HubResponse>> fill;
 
     public HubBucketFillTask(final HubService hubService, final HubBucket hubBucket, final UriSingleResponse<? extends HubResponse> uriSingleResponse) {
+        this(hubService, hubBucket, uriSingleResponse, new CompletableFuture<>());
+    }
+
+    /**
+     * @param fill the fill registered in the bucket for this uri, which will be completed with the bucket item once the task has run
+     */
+    public HubBucketFillTask(final HubService hubService, final HubBucket hubBucket, final UriSingleResponse<? extends HubResponse> uriSingleResponse, final CompletableFuture<HubBucketItem<HubResponse>> fill) {
         this.hubService = hubService;
         this.hubBucket = hubBucket;
         this.uriSingleResponse = uriSingleResponse;
+        this.fill = fill;
     }
 
     @Override
     public void run() {
-        if (!hubBucket.contains(uriSingleResponse.uri)) {
-            try {
+        try {
+            if (!hubBucket.contains(uriSingleResponse.uri) && !hubBucket.restore(uriSingleResponse)) {
                 final HubResponse hubResponse = hubService.getResponse(uriSingleResponse);
                 hubBucket.addValid(uriSingleResponse.uri, hubResponse);
-            } catch (final Exception e) {
-                // it is up to the consumer of the bucket to log or handle any/all Exceptions
-                hubBucket.addError(uriSingleResponse.uri, e);
+            }
+        } catch (final Exception e) {
+            // it is up to the consumer of the bucket to log or handle any/all Exceptions
+            hubBucket.addError(uriSingleResponse.uri, e);
+        } finally {
+            // the fill must always complete, otherwise everyone waiting on it would wait forever
+            final HubBucketItem<HubResponse> bucketItem = hubBucket.get(uriSingleResponse.uri);
+            if (bucketItem != null) {
+                fill.complete(bucketItem);
+            } else {
+                fill.complete(new HubBucketItem<>(uriSingleResponse.uri, new HubIntegrationException(String.format("The uri %s could not be added to the bucket.", uriSingleResponse.uri))));
             }
         }
     }
 
+    /**
+     * Used when the task could not be run at all. The fill is completed exceptionally and removed from the bucket, so the uri can be claimed again.
+     */
+    public void abandon(final Exception e) {
+        hubBucket.unregisterFill(uriSingleResponse.uri, fill);
+        fill.completeExceptionally(e);
+    }
+
+    public CompletableFuture<HubBucketItem<HubResponse>> getFill() {
+        return fill;
+    }
+
 }
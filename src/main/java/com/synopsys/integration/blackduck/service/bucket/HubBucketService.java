@@ -24,11 +24,12 @@
 package com.synopsys.integration.blackduck.service.bucket;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.stream.Collectors;
 
 import com.synopsys.integration.blackduck.api.UriSingleResponse;
 import com.synopsys.integration.blackduck.api.core.HubResponse;
@@ -71,14 +72,39 @@ public class HubBucketService extends DataService {
     }
 
     public void addToTheBucket(final HubBucket hubBucket, final List<UriSingleResponse<? extends HubResponse>> uriSingleResponses) throws IntegrationException {
-        final List<HubBucketFillTask> taskList = uriSingleResponses.stream().map(uriSingleResponse -> {
-            return new HubBucketFillTask(hubService, hubBucket, uriSingleResponse);
-        }).collect(Collectors.toList());
+        final List<HubBucketFillTask> taskList = new ArrayList<>();
+        claimFills(hubBucket, uriSingleResponses, taskList);
+        runTasks(taskList);
+    }
+
+    public CompletableFuture<HubBucket> startTheBucketAsync(final List<UriSingleResponse<? extends HubResponse>> uriSingleResponses) {
+        final HubBucket hubBucket = new HubBucket();
+        return addToTheBucketAsync(hubBucket, uriSingleResponses);
+    }
+
+    /**
+     * Adds the uris to the bucket and returns a future that completes once every one of them is in the bucket, including any uris that were
+     * already being filled by another caller. The future of each individual uri is available from HubBucket.getFill, so results can be consumed
+     * as they arrive. Without an ExecutorService the bucket is filled before this method returns.
+     */
+    public CompletableFuture<HubBucket> addToTheBucketAsync(final HubBucket hubBucket, final List<UriSingleResponse<? extends HubResponse>> uriSingleResponses) {
+        final List<HubBucketFillTask> taskList = new ArrayList<>();
+        final List<CompletableFuture<HubBucketItem<HubResponse>>> fills = claimFills(hubBucket, uriSingleResponses, taskList);
+        runTasks(taskList);
+        return CompletableFuture.allOf(fills.toArray(new CompletableFuture[fills.size()])).thenApply(ignored -> hubBucket);
+    }
+
+    private void runTasks(final List<HubBucketFillTask> taskList) {
         if (executorService.isPresent()) {
             // NOTE: it is up to the user of the bucket service to shutdown the executor
-            taskList.forEach(task -> {
-                executorService.get().execute(task);
-            });
+            for (final HubBucketFillTask task : taskList) {
+                try {
+                    executorService.get().execute(task);
+                } catch (final RuntimeException e) {
+                    logger.error(String.format("Could not start filling the bucket: %s", e.getMessage()));
+                    task.abandon(e);
+                }
+            }
         } else {
             taskList.forEach(task -> {
                 task.run();
@@ -86,4 +112,23 @@ public class HubBucketService extends DataService {
         }
     }
 
+    // each uri gets exactly one task per bucket - a uri that is repeated in the list, or that another caller is already filling, only gets the existing fill
+    private List<CompletableFuture<HubBucketItem<HubResponse>>> claimFills(final HubBucket hubBucket, final List<UriSingleResponse<? extends HubResponse>> uriSingleResponses, final List<HubBucketFillTask> taskList) {
+        final Map<String, UriSingleResponse<? extends HubResponse>> uniqueUriSingleResponses = new LinkedHashMap<>();
+        uriSingleResponses.forEach(uriSingleResponse -> uniqueUriSingleResponses.putIfAbsent(uriSingleResponse.uri, uriSingleResponse));
+
+        final List<CompletableFuture<HubBucketItem<HubResponse>>> fills = new ArrayList<>();
+        for (final UriSingleResponse<? extends HubResponse> uriSingleResponse : uniqueUriSingleResponses.values()) {
+            final CompletableFuture<HubBucketItem<HubResponse>> fill = new CompletableFuture<>();
+            final CompletableFuture<HubBucketItem<HubResponse>> existingFill = hubBucket.registerFill(uriSingleResponse.uri, fill);
+            if (existingFill == null) {
+                taskList.add(new HubBucketFillTask(hubService, hubBucket, uriSingleResponse, fill));
+                fills.add(fill);
+            } else {
+                fills.add(existingFill);
+            }
+        }
+        return fills;
+    }
+
 }
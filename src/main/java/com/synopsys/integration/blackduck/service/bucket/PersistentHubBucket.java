@@ -0,0 +1,149 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.service.bucket;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.synopsys.integration.blackduck.api.UriSingleResponse;
+import com.synopsys.integration.blackduck.api.core.HubResponse;
+
+/**
+ * A HubBucket that also keeps every valid response on disk, so that a later bucket created with the same directory (for example in the next
+ * polling cycle, or after a restart) can restore responses instead of retrieving them again. A stored response is only restored while it is
+ * younger than the time to live.
+ * <p>
+ * Each uri is stored in its own file, named by the SHA-256 of the uri, containing the raw json and the time it was retrieved. Files are replaced
+ * atomically, so several processes may share the directory. Failing to read or write the store never fails the bucket - the uri is simply
+ * retrieved from the server.
+ */
+public class PersistentHubBucket extends HubBucket {
+    private static final String STORED_RESPONSE_EXTENSION = ".json";
+
+    private final File storeDirectory;
+    private final long timeToLiveInMilliseconds;
+    private final Gson gson;
+
+    public PersistentHubBucket(final File storeDirectory, final long timeToLiveInMilliseconds, final Gson gson) {
+        this.storeDirectory = storeDirectory;
+        this.timeToLiveInMilliseconds = timeToLiveInMilliseconds;
+        this.gson = gson;
+        storeDirectory.mkdirs();
+    }
+
+    @Override
+    public boolean restore(final UriSingleResponse<? extends HubResponse> uriSingleResponse) {
+        final File storedResponseFile = getStoredResponseFile(uriSingleResponse.uri);
+        if (!storedResponseFile.isFile()) {
+            return false;
+        }
+
+        try {
+            final StoredResponse storedResponse = gson.fromJson(FileUtils.readFileToString(storedResponseFile, StandardCharsets.UTF_8), StoredResponse.class);
+            if (storedResponse == null || storedResponse.json == null || !uriSingleResponse.uri.equals(storedResponse.uri) || isExpired(storedResponse)) {
+                return false;
+            }
+            final HubResponse hubResponse = gson.fromJson(storedResponse.json, uriSingleResponse.responseClass);
+            hubResponse.json = storedResponse.json;
+            super.addValid(uriSingleResponse.uri, hubResponse);
+            return true;
+        } catch (final IOException | JsonSyntaxException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void addValid(final String uri, final HubResponse hubResponse) {
+        super.addValid(uri, hubResponse);
+        if (hubResponse.json != null) {
+            store(uri, hubResponse.json);
+        }
+    }
+
+    @Override
+    public HubBucketItem<HubResponse> remove(final String uri) {
+        FileUtils.deleteQuietly(getStoredResponseFile(uri));
+        return super.remove(uri);
+    }
+
+    /**
+     * Deletes every stored response that is older than the time to live.
+     */
+    public void purgeExpired() {
+        final File[] storedResponseFiles = storeDirectory.listFiles((directory, name) -> name.endsWith(STORED_RESPONSE_EXTENSION));
+        if (storedResponseFiles == null) {
+            return;
+        }
+        for (final File storedResponseFile : storedResponseFiles) {
+            if (System.currentTimeMillis() - storedResponseFile.lastModified() >= timeToLiveInMilliseconds) {
+                FileUtils.deleteQuietly(storedResponseFile);
+            }
+        }
+    }
+
+    public File getStoreDirectory() {
+        return storeDirectory;
+    }
+
+    private void store(final String uri, final String json) {
+        final StoredResponse storedResponse = new StoredResponse();
+        storedResponse.uri = uri;
+        storedResponse.json = json;
+        storedResponse.retrievedAt = System.currentTimeMillis();
+
+        final File storedResponseFile = getStoredResponseFile(uri);
+        File temporaryFile = null;
+        try {
+            temporaryFile = File.createTempFile(storedResponseFile.getName(), ".tmp", storeDirectory);
+            FileUtils.writeStringToFile(temporaryFile, gson.toJson(storedResponse), StandardCharsets.UTF_8);
+            Files.move(temporaryFile.toPath(), storedResponseFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            // the response is still in memory, it just will not be available to the next bucket
+            FileUtils.deleteQuietly(temporaryFile);
+        }
+    }
+
+    private boolean isExpired(final StoredResponse storedResponse) {
+        return System.currentTimeMillis() - storedResponse.retrievedAt >= timeToLiveInMilliseconds;
+    }
+
+    private File getStoredResponseFile(final String uri) {
+        return new File(storeDirectory, DigestUtils.sha256Hex(uri) + STORED_RESPONSE_EXTENSION);
+    }
+
+    private static class StoredResponse {
+        private String uri;
+        private long retrievedAt;
+        private String json;
+    }
+
+}
@@ -0,0 +1,243 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.service.cache;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.client.utils.DateUtils;
+
+import com.synopsys.integration.blackduck.service.model.RequestFactory;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.connection.RestConnection;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+/**
+ * An opt-in, bounded LRU cache of GET response bodies keyed by uri. Entries younger than the time to live are served without contacting the
+ * server. Older entries are revalidated with a conditional request (If-None-Match when the server supplied an ETag, otherwise
+ * If-Modified-Since) and are only downloaded again if they changed.
+ * <p>
+ * Only the json is cached - a new view is deserialized for every call, so callers can never modify a cached view.
+ */
+public class HubResponseCache {
+    public static final String ETAG_HEADER = "ETag";
+    public static final String LAST_MODIFIED_HEADER = "Last-Modified";
+    public static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+    public static final int NOT_MODIFIED_304 = 304;
+
+    private final RestConnection restConnection;
+    private final int maximumEntries;
+    private final long maximumSizeInCharacters;
+    private final long timeToLiveInMilliseconds;
+
+    private final LinkedHashMap<String, CachedResponse> cachedResponses = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeInCharacters = 0;
+
+    private final AtomicLong hitCount = new AtomicLong(0);
+    private final AtomicLong missCount = new AtomicLong(0);
+    private final AtomicLong revalidatedCount = new AtomicLong(0);
+    private final AtomicLong evictionCount = new AtomicLong(0);
+
+    public HubResponseCache(final RestConnection restConnection, final int maximumEntries, final long maximumSizeInCharacters, final long timeToLiveInMilliseconds) {
+        if (maximumEntries < 1) {
+            throw new IllegalArgumentException("The cache must allow at least one entry.");
+        }
+        this.restConnection = restConnection;
+        this.maximumEntries = maximumEntries;
+        this.maximumSizeInCharacters = maximumSizeInCharacters;
+        this.timeToLiveInMilliseconds = timeToLiveInMilliseconds;
+    }
+
+    /**
+     * Returns the json for the GET request, from the cache when possible.
+     */
+    public String getJson(final Request request) throws IntegrationException {
+        final String uri = request.getUri();
+        final CachedResponse cachedResponse;
+        synchronized (cachedResponses) {
+            cachedResponse = cachedResponses.get(uri);
+        }
+
+        final long now = System.currentTimeMillis();
+        if (cachedResponse == null) {
+            missCount.incrementAndGet();
+            return cache(uri, fetch(request, now));
+        }
+
+        if (now - cachedResponse.fetchedAt < timeToLiveInMilliseconds) {
+            hitCount.incrementAndGet();
+            return cachedResponse.json;
+        }
+
+        final Optional<CachedResponse> changedResponse = fetchIfModified(request, cachedResponse, now);
+        if (!changedResponse.isPresent()) {
+            revalidatedCount.incrementAndGet();
+            put(uri, cachedResponse.refreshed(now));
+            return cachedResponse.json;
+        }
+
+        missCount.incrementAndGet();
+        return cache(uri, changedResponse.get());
+    }
+
+    public void invalidate(final String uri) {
+        synchronized (cachedResponses) {
+            final CachedResponse removed = cachedResponses.remove(uri);
+            if (removed != null) {
+                sizeInCharacters -= removed.json.length();
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (cachedResponses) {
+            cachedResponses.clear();
+            sizeInCharacters = 0;
+        }
+    }
+
+    public HubResponseCacheStatistics getStatistics() {
+        final int entryCount;
+        final long currentSizeInCharacters;
+        synchronized (cachedResponses) {
+            entryCount = cachedResponses.size();
+            currentSizeInCharacters = sizeInCharacters;
+        }
+        return new HubResponseCacheStatistics(hitCount.get(), missCount.get(), revalidatedCount.get(), evictionCount.get(), entryCount, currentSizeInCharacters);
+    }
+
+    private String cache(final String uri, final CachedResponse cachedResponse) {
+        put(uri, cachedResponse);
+        return cachedResponse.json;
+    }
+
+    private CachedResponse fetch(final Request request, final long now) throws IntegrationException {
+        try (final Response response = restConnection.executeRequest(request)) {
+            return toCachedResponse(response, now);
+        } catch (final IOException e) {
+            throw new IntegrationException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Makes a conditional request for the entry. A changed resource is returned from the body of that same request, so it is only downloaded once.
+     * @return empty when the cached entry is still current
+     */
+    private Optional<CachedResponse> fetchIfModified(final Request request, final CachedResponse cachedResponse, final long now) throws IntegrationException {
+        if (StringUtils.isNotBlank(cachedResponse.etag)) {
+            final Request.Builder conditionalRequestBuilder = RequestFactory.createRequestBuilderCopy(request);
+            final Map<String, String> conditionalHeaders = new HashMap<>();
+            if (request.getAdditionalHeaders() != null) {
+                conditionalHeaders.putAll(request.getAdditionalHeaders());
+            }
+            conditionalHeaders.put(IF_NONE_MATCH_HEADER, cachedResponse.etag);
+            final Request conditionalRequest = conditionalRequestBuilder.additionalHeaders(conditionalHeaders).build();
+            try (final Response response = restConnection.executeRequest(conditionalRequest)) {
+                if (response.getStatusCode() == NOT_MODIFIED_304) {
+                    return Optional.empty();
+                }
+                return Optional.of(toCachedResponse(response, now));
+            } catch (final IntegrationRestException e) {
+                if (e.getHttpStatusCode() == NOT_MODIFIED_304) {
+                    return Optional.empty();
+                }
+                throw e;
+            } catch (final IOException e) {
+                throw new IntegrationException(e.getMessage(), e);
+            }
+        } else if (cachedResponse.lastModified > 0) {
+            final Optional<Response> optionalResponse = restConnection.executeGetRequestIfModifiedSince(request, cachedResponse.lastModified);
+            if (!optionalResponse.isPresent()) {
+                return Optional.empty();
+            }
+            try (final Response response = optionalResponse.get()) {
+                return Optional.of(toCachedResponse(response, now));
+            } catch (final IOException e) {
+                throw new IntegrationException(e.getMessage(), e);
+            }
+        }
+        return Optional.of(fetch(request, now));
+    }
+
+    private CachedResponse toCachedResponse(final Response response, final long now) throws IntegrationException {
+        final String json = response.getContentString();
+        final String etag = response.getHeaderValue(ETAG_HEADER);
+        final long lastModified = parseLastModified(response.getHeaderValue(LAST_MODIFIED_HEADER));
+        return new CachedResponse(json, etag, lastModified, now);
+    }
+
+    private void put(final String uri, final CachedResponse cachedResponse) {
+        synchronized (cachedResponses) {
+            final CachedResponse replaced = cachedResponses.put(uri, cachedResponse);
+            if (replaced != null) {
+                sizeInCharacters -= replaced.json.length();
+            }
+            sizeInCharacters += cachedResponse.json.length();
+
+            final Iterator<Map.Entry<String, CachedResponse>> leastRecentlyUsed = cachedResponses.entrySet().iterator();
+            while (leastRecentlyUsed.hasNext() && (cachedResponses.size() > maximumEntries || sizeInCharacters > maximumSizeInCharacters)) {
+                final Map.Entry<String, CachedResponse> eldest = leastRecentlyUsed.next();
+                sizeInCharacters -= eldest.getValue().json.length();
+                leastRecentlyUsed.remove();
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    private long parseLastModified(final String lastModifiedHeader) {
+        if (StringUtils.isBlank(lastModifiedHeader)) {
+            return 0L;
+        }
+        final Date lastModified = DateUtils.parseDate(lastModifiedHeader);
+        return lastModified == null ? 0L : lastModified.getTime();
+    }
+
+    private static class CachedResponse {
+        private final String json;
+        private final String etag;
+        private final long lastModified;
+        private final long fetchedAt;
+
+        private CachedResponse(final String json, final String etag, final long lastModified, final long fetchedAt) {
+            this.json = json;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.fetchedAt = fetchedAt;
+        }
+
+        private CachedResponse refreshed(final long now) {
+            return new CachedResponse(json, etag, lastModified, now);
+        }
+    }
+
+}
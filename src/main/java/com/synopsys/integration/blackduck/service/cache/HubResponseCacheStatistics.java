@@ -0,0 +1,87 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.service.cache;
+
+import org.apache.commons.lang3.builder.RecursiveToStringStyle;
+import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
+
+/**
+ * A point in time snapshot of the HubResponseCache counters, suitable for exporting to a metrics system.
+ */
+public class HubResponseCacheStatistics {
+    private final long hitCount;
+    private final long missCount;
+    private final long revalidatedCount;
+    private final long evictionCount;
+    private final int entryCount;
+    private final long sizeInCharacters;
+
+    public HubResponseCacheStatistics(final long hitCount, final long missCount, final long revalidatedCount, final long evictionCount, final int entryCount, final long sizeInCharacters) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.revalidatedCount = revalidatedCount;
+        this.evictionCount = evictionCount;
+        this.entryCount = entryCount;
+        this.sizeInCharacters = sizeInCharacters;
+    }
+
+    /**
+     * Requests served from the cache without contacting the server.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Requests that downloaded the full response, either because nothing was cached or because the cached response had changed.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Requests served from the cache after the server confirmed the cached response was still current.
+     */
+    public long getRevalidatedCount() {
+        return revalidatedCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public long getSizeInCharacters() {
+        return sizeInCharacters;
+    }
+
+    @Override
+    public String toString() {
+        return ReflectionToStringBuilder.toString(this, RecursiveToStringStyle.JSON_STYLE);
+    }
+
+}
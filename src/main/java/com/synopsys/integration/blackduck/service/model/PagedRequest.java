@@ -74,6 +74,16 @@ public class PagedRequest {
         return request;
     }
 
+    /**
+     * Creates a PagedRequest for the given offset whose builder shares no mutable state with this one, so the resulting requests can be executed
+     * concurrently.
+     */
+    public PagedRequest copyForOffset(final int offset) {
+        // the limit and offset are replaced in createRequest, so copying them is harmless
+        final Request.Builder copiedRequestBuilder = RequestFactory.createRequestBuilderCopy(requestBuilder.build());
+        return new PagedRequest(copiedRequestBuilder, offset, limit);
+    }
+
     public Request.Builder getRequestBuilder() {
         return requestBuilder;
     }
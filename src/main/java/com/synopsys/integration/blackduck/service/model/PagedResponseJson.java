@@ -0,0 +1,179 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.service.model;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Optional;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.synopsys.integration.blackduck.exception.HubIntegrationException;
+
+/**
+ * A single streaming pass over the raw json of a page of responses. Only the 'totalCount' and the boundaries of each element of 'items' are
+ * recorded, so each item can be deserialized directly from its own slice of the page without building a tree of the whole page or
+ * re-serializing the items afterwards. Once scanned, the page is read-only and can be shared between threads.
+ */
+public class PagedResponseJson {
+    private static final String TOTAL_COUNT_KEY = "totalCount";
+    private static final String ITEMS_KEY = "items";
+
+    private final String json;
+    private boolean totalCountFound = false;
+    private int totalCount = 0;
+    private int itemCount = 0;
+    private int[] itemStarts = new int[16];
+    private int[] itemEnds = new int[16];
+
+    public static PagedResponseJson scan(final String json) throws HubIntegrationException {
+        final PagedResponseJson pagedResponseJson = new PagedResponseJson(json);
+        try {
+            pagedResponseJson.scanPage();
+        } catch (final EOFException e) {
+            throw new HubIntegrationException("The json ended unexpectedly", e);
+        } catch (final IOException | IllegalStateException | NumberFormatException e) {
+            throw new HubIntegrationException(String.format("Could not read the page of responses: %s", e.getMessage()), e);
+        }
+        if (!pagedResponseJson.totalCountFound) {
+            throw new HubIntegrationException("The page of responses did not include a totalCount");
+        }
+        return pagedResponseJson;
+    }
+
+    private PagedResponseJson(final String json) {
+        this.json = json;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public String getItemJson(final int index) {
+        return json.substring(itemStarts[index], itemEnds[index]);
+    }
+
+    /**
+     * Finds a top-level string field of an item, such as 'type', without deserializing the item.
+     */
+    public Optional<String> getItemStringField(final int index, final String fieldName) throws HubIntegrationException {
+        try (final JsonReader jsonReader = new JsonReader(new StringReader(getItemJson(index)))) {
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                final String name = jsonReader.nextName();
+                if (fieldName.equals(name) && JsonToken.STRING == jsonReader.peek()) {
+                    return Optional.of(jsonReader.nextString());
+                }
+                jsonReader.skipValue();
+            }
+            return Optional.empty();
+        } catch (final IOException | IllegalStateException e) {
+            throw new HubIntegrationException(String.format("Could not read the field %s of item %d: %s", fieldName, index, e.getMessage()), e);
+        }
+    }
+
+    private void scanPage() throws IOException, HubIntegrationException {
+        final OffsetReader offsetReader = new OffsetReader(json);
+        try (final JsonReader jsonReader = new JsonReader(offsetReader)) {
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                final String name = jsonReader.nextName();
+                if (TOTAL_COUNT_KEY.equals(name)) {
+                    totalCount = jsonReader.nextInt();
+                    totalCountFound = true;
+                } else if (ITEMS_KEY.equals(name) && JsonToken.BEGIN_ARRAY == jsonReader.peek()) {
+                    scanItems(jsonReader, offsetReader);
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            jsonReader.endObject();
+        }
+    }
+
+    private void scanItems(final JsonReader jsonReader, final OffsetReader offsetReader) throws IOException, HubIntegrationException {
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            if (JsonToken.BEGIN_OBJECT != jsonReader.peek()) {
+                throw new HubIntegrationException(String.format("Expected each of the items to be an object but found %s", jsonReader.peek()));
+            }
+            // peeking an object consumes exactly its opening brace, and skipping it consumes exactly up to its closing brace
+            final int start = offsetReader.getOffset() - 1;
+            jsonReader.skipValue();
+            addItem(start, offsetReader.getOffset());
+        }
+        jsonReader.endArray();
+    }
+
+    private void addItem(final int start, final int end) {
+        if (itemCount == itemStarts.length) {
+            itemStarts = Arrays.copyOf(itemStarts, itemCount * 2);
+            itemEnds = Arrays.copyOf(itemEnds, itemCount * 2);
+        }
+        itemStarts[itemCount] = start;
+        itemEnds[itemCount] = end;
+        itemCount++;
+    }
+
+    /**
+     * Hands the json to the JsonReader one character at a time. The JsonReader only reads ahead as far as it has to, so for objects the offset
+     * of this reader is exactly the offset of the JsonReader in the json.
+     */
+    private static class OffsetReader extends Reader {
+        private final String json;
+        private int offset = 0;
+
+        public OffsetReader(final String json) {
+            this.json = json;
+        }
+
+        @Override
+        public int read(final char[] buffer, final int bufferOffset, final int length) {
+            if (offset >= json.length()) {
+                return -1;
+            }
+            if (length == 0) {
+                return 0;
+            }
+            buffer[bufferOffset] = json.charAt(offset++);
+            return 1;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+    }
+
+}
@@ -24,6 +24,7 @@
 package com.synopsys.integration.blackduck.service.model;
 
 import java.io.File;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -118,6 +119,22 @@ public class RequestFactory {
         return requestBuilder;
     }
 
+    /**
+     * Creates a builder with every field of the request. The query parameters and headers are copied, so the new builder shares no mutable state
+     * with the request.
+     */
+    public static Request.Builder createRequestBuilderCopy(final Request request) {
+        final Request.Builder requestBuilder = new Request.Builder(request.getUri()).method(request.getMethod()).mimeType(request.getMimeType()).bodyEncoding(request.getBodyEncoding())
+                .bodyContent(request.getBodyContent());
+        if (request.getQueryParameters() != null) {
+            request.getQueryParameters().forEach((key, values) -> values.forEach(value -> requestBuilder.addQueryParameter(key, value)));
+        }
+        if (request.getAdditionalHeaders() != null) {
+            requestBuilder.additionalHeaders(new HashMap<>(request.getAdditionalHeaders()));
+        }
+        return requestBuilder;
+    }
+
     public static Request.Builder createCommonPostRequestBuilder(final File bodyContentFile) {
         return new Request.Builder().method(HttpMethod.POST).bodyContent(new FileBodyContent(bodyContentFile));
     }
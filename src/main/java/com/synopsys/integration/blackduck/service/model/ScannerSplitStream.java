@@ -26,13 +26,22 @@ package com.synopsys.integration.blackduck.service.model;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang3.StringUtils;
 
 import com.synopsys.integration.log.IntLogger;
 
+/**
+ * Copies the scan CLI output to a file while splitting it into lines and logging the ones that start with a log level. Only the most recent logged lines are kept for {@link #getOutput()}.
+ */
 public class ScannerSplitStream extends OutputStream {
+    public static final int DEFAULT_MAXIMUM_OUTPUT_LINES = 1000;
+
     // https://www.cs.cmu.edu/~pattis/15-1XX/common/handouts/ascii.html
     private static final int EOF = -1; // End of file
 
@@ -64,25 +73,53 @@ public class ScannerSplitStream extends OutputStream {
 
     private final IntLogger logger;
 
-    private String output = "";
+    private final int maximumOutputLines;
+
+    private final Consumer<String> logEntryConsumer;
+
+    private final Deque<String> outputLines = new ArrayDeque<>();
+
+    private final StringBuilder lineBuffer = new StringBuilder();
 
-    private String lineBuffer = "";
+    private byte[] currentLine = new byte[256];
 
-    private String currentLine = "";
+    private int currentLineLength = 0;
 
-    private int previousCodePoint = -1;
+    private boolean previousWasCarriageReturn = false;
 
     public ScannerSplitStream(final IntLogger logger, final OutputStream outputFileStream) {
+        this(logger, outputFileStream, DEFAULT_MAXIMUM_OUTPUT_LINES);
+    }
+
+    public ScannerSplitStream(final IntLogger logger, final OutputStream outputFileStream, final int maximumOutputLines) {
+        this(logger, outputFileStream, maximumOutputLines, logEntry -> {
+        });
+    }
+
+    /**
+     * The log entry consumer sees every complete log entry, including DEBUG and TRACE entries that are not logged.
+     */
+    public ScannerSplitStream(final IntLogger logger, final OutputStream outputFileStream, final int maximumOutputLines, final Consumer<String> logEntryConsumer) {
+        if (maximumOutputLines <= 0) {
+            throw new IllegalArgumentException("The maximum number of output lines must be greater than 0.");
+        }
         this.outputFileStream = outputFileStream;
         this.logger = logger;
+        this.maximumOutputLines = maximumOutputLines;
+        this.logEntryConsumer = logEntryConsumer;
     }
 
     public String getOutput() {
-        return output;
+        final StringBuilder outputBuilder = new StringBuilder();
+        for (final String outputLine : outputLines) {
+            outputBuilder.append(outputLine);
+            outputBuilder.append(LINE_SEPARATOR);
+        }
+        return outputBuilder.toString();
     }
 
     public Boolean hasOutput() {
-        return StringUtils.isNotBlank(output);
+        return !outputLines.isEmpty();
     }
 
     @Override
@@ -93,28 +130,68 @@ public class ScannerSplitStream extends OutputStream {
             throw new EOFException();
         }
 
-        boolean atLineEnd = false;
-        if (ETX == codePoint || EOT == codePoint) {
-            atLineEnd = true;
-        } else if (LF == codePoint && CR != previousCodePoint) {
-            atLineEnd = true;
-        } else if (LF == codePoint && CR == previousCodePoint) {
-            atLineEnd = true;
-            // also need to remove the previously consumed CR
-            currentLine = currentLine.substring(0, currentLine.length() - 1);
-        } else if (LF != codePoint && CR == previousCodePoint) {
-            processLine(currentLine);
-            currentLine = "";
+        splitByte((byte) codePoint);
+    }
+
+    @Override
+    public void write(final byte[] byteArray) throws IOException {
+        write(byteArray, 0, byteArray.length);
+    }
+
+    @Override
+    public void write(final byte[] byteArray, final int offset, final int length) throws IOException {
+        outputFileStream.write(byteArray, offset, length);
+
+        for (int i = offset; i < offset + length; i++) {
+            splitByte(byteArray[i]);
         }
-        previousCodePoint = codePoint;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        outputFileStream.flush();
+
+        // Print whatever is left in the buffer
+        writeToConsole(lineBuffer.toString());
+        lineBuffer.setLength(0);
+        // Print whatever is left in the buffer
+        final String remainingLine = takeCurrentLine();
+        if (StringUtils.isNotBlank(remainingLine)) {
+            writeToConsole(remainingLine);
+        }
+    }
 
-        if (atLineEnd) {
-            processLine(currentLine);
-            currentLine = "";
+    @Override
+    public void close() throws IOException {
+        outputFileStream.close();
+
+        // Do not close the listener, will not be able to log to the UI anymore
+        // if you do
+    }
+
+    private void splitByte(final byte currentByte) {
+        if (ETX == currentByte || EOT == currentByte) {
+            processLine(takeCurrentLine());
+        } else if (CR == currentByte) {
+            processLine(takeCurrentLine());
+        } else if (LF == currentByte) {
+            // a CR LF pair was already handled at the CR
+            if (!previousWasCarriageReturn) {
+                processLine(takeCurrentLine());
+            }
         } else {
-            final String stringAscii = new String(Character.toChars(codePoint));
-            currentLine += stringAscii;
+            if (currentLineLength == currentLine.length) {
+                currentLine = Arrays.copyOf(currentLine, currentLine.length * 2);
+            }
+            currentLine[currentLineLength++] = currentByte;
         }
+        previousWasCarriageReturn = CR == currentByte;
+    }
+
+    private String takeCurrentLine() {
+        final String line = new String(currentLine, 0, currentLineLength, StandardCharsets.UTF_8);
+        currentLineLength = 0;
+        return line;
     }
 
     private Boolean isLoggableLine(final String line) {
@@ -143,117 +220,55 @@ public class ScannerSplitStream extends OutputStream {
         return false;
     }
 
-    private void processLine(final String line) throws UnsupportedEncodingException {
+    private void processLine(final String line) {
         if (lineBuffer.length() == 0) {
             // First log line found, put it in the buffer
-            lineBuffer = line;
+            lineBuffer.append(line);
         } else if (isLoggableLine(line)) {
             // next real log message came in, print the log in the buffer
-            // print stored lines
-            writeToConsole(lineBuffer);
+            writeToConsole(lineBuffer.toString());
 
             // replace with the current line
-            lineBuffer = line;
+            lineBuffer.setLength(0);
+            lineBuffer.append(line);
         } else {
             // We assume that each new log starts with the log level, if this
             // line does not contain a log level it
             // must only be a piece of a log
             // needs to be added into the buffer
-            final StringBuilder builder = new StringBuilder();
-            builder.append(lineBuffer);
-
-            builder.append(LINE_SEPARATOR);
-            builder.append(line);
-            lineBuffer = builder.toString();
+            lineBuffer.append(LINE_SEPARATOR);
+            lineBuffer.append(line);
         }
     }
 
-    @Override
-    public void write(final byte[] byteArray) throws IOException {
-        outputFileStream.write(byteArray);
-
-        final String currentLine = new String(byteArray, "UTF-8");
-        if (currentLine.contains(LINE_SEPARATOR)) {
-            final String[] splitLines = currentLine.split(LINE_SEPARATOR);
-
-            for (final String line : splitLines) {
-                processLine(line);
-            }
-        } else {
-            processLine(currentLine);
-        }
-    }
-
-    @Override
-    public void write(final byte[] byteArray, final int offset, final int length) throws IOException {
-        outputFileStream.write(byteArray, offset, length);
-
-        final String currentLine = new String(byteArray, offset, length, "UTF-8");
-        if (currentLine.contains(LINE_SEPARATOR)) {
-            final String[] splitLines = currentLine.split(LINE_SEPARATOR);
-
-            for (final String line : splitLines) {
-                processLine(line);
-            }
-        } else {
-            processLine(currentLine);
-        }
-    }
-
-    @Override
-    public void flush() throws IOException {
-        outputFileStream.flush();
-
-        // Print whatever is left in the buffer
-        writeToConsole(lineBuffer);
-        lineBuffer = "";
-        // Print whatever is left in the buffer
-        if (StringUtils.isNotBlank(currentLine)) {
-            writeToConsole(currentLine);
-            currentLine = "";
-        }
-    }
-
-    @Override
-    public void close() throws IOException {
-        outputFileStream.close();
-
-        // Do not close the listener, will not be able to log to the UI anymore
-        // if you do
-    }
-
     private void writeToConsole(final String line) {
         final String trimmedLine = line.trim();
+        if (StringUtils.isNotBlank(trimmedLine)) {
+            logEntryConsumer.accept(trimmedLine);
+        }
         if (trimmedLine.startsWith(DEBUG) || trimmedLine.startsWith(TRACE)) {
             // We dont want to print Debug or Trace logs to the logger
             return;
         }
-        final StringBuilder outputBuilder = new StringBuilder();
-        outputBuilder.append(output);
         if (trimmedLine.startsWith(ERROR)) {
-            outputBuilder.append(trimmedLine);
-            outputBuilder.append(LINE_SEPARATOR);
             logger.error(trimmedLine);
         } else if (trimmedLine.startsWith(WARN)) {
-            outputBuilder.append(trimmedLine);
-            outputBuilder.append(LINE_SEPARATOR);
             logger.warn(trimmedLine);
         } else if (trimmedLine.startsWith(INFO)) {
-            outputBuilder.append(trimmedLine);
-            outputBuilder.append(LINE_SEPARATOR);
             logger.info(trimmedLine);
         } else if (StringUtils.containsIgnoreCase(trimmedLine, EXCEPTION)) {
             // looking for 'Exception in thread' type messages
-            outputBuilder.append(trimmedLine);
-            outputBuilder.append(LINE_SEPARATOR);
             logger.error(trimmedLine);
         } else if (StringUtils.containsIgnoreCase(trimmedLine, FINISHED)) {
-            outputBuilder.append(trimmedLine);
-            outputBuilder.append(LINE_SEPARATOR);
             logger.info(trimmedLine);
+        } else {
+            return;
         }
 
-        output = outputBuilder.toString();
+        if (outputLines.size() == maximumOutputLines) {
+            outputLines.removeFirst();
+        }
+        outputLines.addLast(trimmedLine);
     }
 
 }
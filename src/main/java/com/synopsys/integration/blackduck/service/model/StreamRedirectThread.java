@@ -26,11 +26,26 @@ package com.synopsys.integration.blackduck.service.model;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Remember to close the Streams when they are done being used.
  */
 public class StreamRedirectThread extends Thread {
+    public static final int BUFFER_SIZE = 32 * 1024;
+
+    private static final AtomicInteger REDIRECT_THREAD_COUNT = new AtomicInteger();
+
+    // idle redirect threads are reused for the next scan and die after a minute without work
+    private static final ExecutorService REDIRECT_EXECUTOR_SERVICE = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "Stream Redirect Thread-" + REDIRECT_THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private final InputStream in;
 
     private final OutputStream out;
@@ -41,16 +56,30 @@ public class StreamRedirectThread extends Thread {
         this.out = out;
     }
 
+    /**
+     * Copies the input to the output on a pooled daemon thread until the end of the input is reached. Cancelling the future does not stop a
+     * read that is blocked - close the input, or make the output fail, to stop the copy early.
+     * @return the number of bytes copied
+     */
+    public static Future<Long> redirect(final InputStream in, final OutputStream out) {
+        return REDIRECT_EXECUTOR_SERVICE.submit(() -> copy(in, out));
+    }
+
+    public static long copy(final InputStream in, final OutputStream out) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        long count = 0;
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, read);
+            count += read;
+        }
+        return count;
+    }
+
     @Override
     public void run() {
         try {
-            int i;
-            while ((i = in.read()) >= 0) {
-                if (i == -1) {
-                    break;
-                }
-                out.write(i);
-            }
+            copy(in, out);
         } catch (final IOException e) {
             // Ignore
         }
@@ -0,0 +1,99 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.api.view;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.blackduck.api.core.HubView;
+import com.synopsys.integration.blackduck.api.core.ResourceLink;
+import com.synopsys.integration.blackduck.api.generated.view.ProjectView;
+
+public class LinkIndexTableTest {
+    private static final Gson gson = new Gson();
+
+    private HubView createView(final int number) {
+        final String json = "{\"name\":\"project" + number + "\",\"_meta\":{\"href\":\"http://hub-server.com/api/projects/" + number + "\",\"links\":[{\"rel\":\"versions\",\"href\":\"http://hub-server.com/api/projects/" + number
+                + "/versions\"}]}}";
+        return gson.fromJson(json, ProjectView.class);
+    }
+
+    @Test
+    public void testIndexesAreKeptPerView() {
+        final LinkIndexTable linkIndexTable = new LinkIndexTable();
+        final List<HubView> views = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            views.add(createView(i));
+        }
+
+        final List<LinkIndexTable.LinkIndex> linkIndexes = new ArrayList<>();
+        for (final HubView view : views) {
+            linkIndexes.add(linkIndexTable.getLinkIndex(view, view._meta.links));
+        }
+
+        for (int i = 0; i < views.size(); i++) {
+            final HubView view = views.get(i);
+            final LinkIndexTable.LinkIndex linkIndex = linkIndexTable.getLinkIndex(view, view._meta.links);
+            assertSame(linkIndexes.get(i), linkIndex);
+            assertEquals("http://hub-server.com/api/projects/" + i + "/versions", linkIndex.getHrefs("versions").get(0));
+        }
+    }
+
+    @Test
+    public void testIndexIsRebuiltWhenTheLinksChange() {
+        final LinkIndexTable linkIndexTable = new LinkIndexTable();
+        final HubView view = createView(1);
+        final LinkIndexTable.LinkIndex original = linkIndexTable.getLinkIndex(view, view._meta.links);
+
+        view._meta.links = new ArrayList<>();
+        final LinkIndexTable.LinkIndex rebuilt = linkIndexTable.getLinkIndex(view, view._meta.links);
+
+        assertNotSame(original, rebuilt);
+        assertNull(rebuilt.getHrefs("versions"));
+    }
+
+    @Test
+    public void testIndexIsRebuiltWhenALinkIsReplacedInPlace() {
+        final LinkIndexTable linkIndexTable = new LinkIndexTable();
+        final HubView view = createView(1);
+        linkIndexTable.getLinkIndex(view, view._meta.links);
+
+        final ResourceLink replacement = new ResourceLink();
+        replacement.rel = "versions";
+        replacement.href = "http://hub-server.com/api/projects/2/versions";
+        view._meta.links.set(0, replacement);
+        assertEquals("http://hub-server.com/api/projects/2/versions", linkIndexTable.getLinkIndex(view, view._meta.links).getHrefs("versions").get(0));
+
+        view._meta.links.get(0).rel = "canonicalVersion";
+        final LinkIndexTable.LinkIndex rebuilt = linkIndexTable.getLinkIndex(view, view._meta.links);
+        assertNull(rebuilt.getHrefs("versions"));
+        assertEquals("http://hub-server.com/api/projects/2/versions", rebuilt.getHrefs("canonicalVersion").get(0));
+    }
+
+}
@@ -31,6 +31,7 @@ import org.junit.jupiter.api.Test;
 
 import com.google.gson.Gson;
 import com.synopsys.integration.blackduck.api.core.HubView;
+import com.synopsys.integration.blackduck.api.core.ResourceLink;
 import com.synopsys.integration.blackduck.api.generated.view.ProjectView;
 import com.synopsys.integration.blackduck.exception.HubIntegrationException;
 import com.synopsys.integration.log.BufferedIntLogger;
@@ -107,4 +108,20 @@ public class MetaHandlerTest {
         assertEquals(0, nonHttpLinkCount);
     }
 
+    @Test
+    public void testLinksChangedAfterFirstLookup() throws Exception {
+        final MetaHandler metaHandler = getMetaHandler();
+        final HubView hubItem = getTestHubItem();
+
+        assertFalse(metaHandler.hasLink(hubItem, "users"));
+
+        final ResourceLink usersLink = new ResourceLink();
+        usersLink.rel = "users";
+        usersLink.href = "http://hub-server.com/api/users";
+        hubItem._meta.links.add(usersLink);
+
+        assertTrue(metaHandler.hasLink(hubItem, "users"));
+        assertEquals("http://hub-server.com/api/users", metaHandler.getFirstLink(hubItem, "users"));
+    }
+
 }
@@ -0,0 +1,220 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.codelocation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.blackduck.api.generated.view.CodeLocationView;
+import com.synopsys.integration.blackduck.api.generated.view.NotificationView;
+import com.synopsys.integration.blackduck.exception.HubIntegrationException;
+import com.synopsys.integration.blackduck.exception.HubTimeoutExceededException;
+import com.synopsys.integration.blackduck.notification.NotificationCursor;
+import com.synopsys.integration.blackduck.rest.BlackDuckRestConnection;
+import com.synopsys.integration.blackduck.service.CodeLocationService;
+import com.synopsys.integration.blackduck.service.HubServicesFactory;
+import com.synopsys.integration.blackduck.service.NotificationService;
+import com.synopsys.integration.blackduck.service.model.NotificationTaskRange;
+import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+
+public class BomComputedPollerTest {
+    private final Gson gson = HubServicesFactory.createDefaultGson();
+
+    private CodeLocationView createCodeLocationView(final String name) {
+        final String json = String.format("{\"name\":\"%s\",\"_meta\":{\"href\":\"https://hub/api/codelocations/%s\"}}", name, name);
+        return gson.fromJson(json, CodeLocationView.class);
+    }
+
+    private NotificationView createBomComputedNotification(final String name) {
+        return createBomComputedNotification(name, "2018-06-01T10:00:00.000Z");
+    }
+
+    private NotificationView createBomComputedNotification(final String name, final String createdAt) {
+        final String json = String.format("{\"type\":\"VERSION_BOM_CODE_LOCATION_BOM_COMPUTED\",\"createdAt\":\"%s\",\"content\":{\"codeLocation\":\"https://hub/api/codelocations/%s\"},"
+                                                  + "\"_meta\":{\"href\":\"https://hub/api/notifications/%s\"}}", createdAt, name, name);
+        final NotificationView notificationView = gson.fromJson(json, NotificationView.class);
+        notificationView.json = json;
+        return notificationView;
+    }
+
+    private NotificationTaskRange createRange() {
+        return new NotificationTaskRange(System.currentTimeMillis(), new Date(0), new Date());
+    }
+
+    private NotificationTaskRange createRange(final String startDate) {
+        return new NotificationTaskRange(System.currentTimeMillis(), Date.from(Instant.parse(startDate)), new Date());
+    }
+
+    @Test
+    public void testWaitsShareOnePoller() throws Exception {
+        final CodeLocationService codeLocationService = mock(CodeLocationService.class);
+        final Map<String, CodeLocationView> codeLocations = new HashMap<>();
+        codeLocations.put("first", createCodeLocationView("first"));
+        codeLocations.put("second", createCodeLocationView("second"));
+        when(codeLocationService.getCodeLocationsByNames(any(), any())).thenReturn(codeLocations);
+
+        final NotificationService notificationService = mock(NotificationService.class);
+        when(notificationService.getNotificationsAfterCursor(any(), any())).thenReturn(Arrays.asList(createBomComputedNotification("first"), createBomComputedNotification("second")));
+
+        final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final BomComputedPoller bomComputedPoller = new BomComputedPoller(codeLocationService, notificationService, new PrintStreamIntLogger(System.out, LogLevel.INFO), scheduledExecutorService, 10, 100);
+            final CompletableFuture<Void> firstWait = bomComputedPoller.waitForCodeLocations(createRange(), Collections.singleton("first"), 10);
+            final CompletableFuture<Void> bothWait = bomComputedPoller.waitForCodeLocations(createRange(), new HashSet<>(Arrays.asList("first", "second")), 10);
+
+            CompletableFuture.allOf(firstWait, bothWait).get(5, TimeUnit.SECONDS);
+            verify(notificationService, atMost(2)).getNotificationsAfterCursor(any(), any());
+        } finally {
+            scheduledExecutorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        final CodeLocationService codeLocationService = mock(CodeLocationService.class);
+        when(codeLocationService.getCodeLocationsByNames(any(), any())).thenReturn(Collections.emptyMap());
+        final NotificationService notificationService = mock(NotificationService.class);
+        when(notificationService.getNotificationsAfterCursor(any(), any())).thenReturn(Collections.emptyList());
+
+        final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final BomComputedPoller bomComputedPoller = new BomComputedPoller(codeLocationService, notificationService, new PrintStreamIntLogger(System.out, LogLevel.INFO), scheduledExecutorService, 10, 100);
+            final CompletableFuture<Void> wait = bomComputedPoller.waitForCodeLocations(createRange(), Collections.singleton("missing"), 1);
+
+            final ExecutionException executionException = assertThrows(ExecutionException.class, () -> wait.get(5, TimeUnit.SECONDS));
+            assertTrue(executionException.getCause() instanceof HubTimeoutExceededException);
+        } finally {
+            scheduledExecutorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailedPollFailsTheWaits() throws Exception {
+        final CodeLocationService codeLocationService = mock(CodeLocationService.class);
+        when(codeLocationService.getCodeLocationsByNames(any(), any())).thenThrow(new AssertionError("broken"));
+        final NotificationService notificationService = mock(NotificationService.class);
+
+        final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final BomComputedPoller bomComputedPoller = new BomComputedPoller(codeLocationService, notificationService, new PrintStreamIntLogger(System.out, LogLevel.INFO), scheduledExecutorService, 10, 100);
+            final CompletableFuture<Void> wait = bomComputedPoller.waitForCodeLocations(createRange(), Collections.singleton("first"), 60);
+
+            final ExecutionException executionException = assertThrows(ExecutionException.class, () -> wait.get(5, TimeUnit.SECONDS));
+            assertTrue(executionException.getCause() instanceof HubIntegrationException);
+        } finally {
+            scheduledExecutorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRejectedPollFailsTheWait() throws Exception {
+        final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+        scheduledExecutorService.shutdown();
+        final BomComputedPoller bomComputedPoller = new BomComputedPoller(mock(CodeLocationService.class), mock(NotificationService.class), new PrintStreamIntLogger(System.out, LogLevel.INFO), scheduledExecutorService, 10,
+                100);
+
+        final CompletableFuture<Void> wait = bomComputedPoller.waitForCodeLocations(createRange(), Collections.singleton("first"), 60);
+        final ExecutionException executionException = assertThrows(ExecutionException.class, () -> wait.get(5, TimeUnit.SECONDS));
+        assertTrue(executionException.getCause() instanceof HubIntegrationException);
+    }
+
+    @Test
+    public void testEarlierWaitAfterThePruningRewindsTheCursor() throws Exception {
+        final CodeLocationService codeLocationService = mock(CodeLocationService.class);
+        when(codeLocationService.getCodeLocationsByNames(any(), any())).thenAnswer(invocation -> {
+            final Map<String, CodeLocationView> codeLocations = new HashMap<>();
+            final Set<String> names = invocation.getArgument(0);
+            names.forEach(name -> codeLocations.put(name, createCodeLocationView(name)));
+            return codeLocations;
+        });
+        final List<NotificationView> notifications = Arrays.asList(createBomComputedNotification("earlier", "2018-06-01T10:30:00.000Z"), createBomComputedNotification("first", "2018-06-01T11:30:00.000Z"));
+        final NotificationService notificationService = mock(NotificationService.class);
+        when(notificationService.getNotificationsAfterCursor(any(), any())).thenAnswer(invocation -> {
+            final NotificationCursor cursor = invocation.getArgument(0);
+            return notifications.stream().filter(cursor::isAfterCursor).collect(Collectors.toList());
+        });
+
+        // the polls are run by hand, so that the waits interleave with them exactly as below
+        final Queue<Runnable> polls = new LinkedList<>();
+        final ScheduledExecutorService scheduledExecutorService = mock(ScheduledExecutorService.class);
+        doAnswer(invocation -> polls.add(invocation.getArgument(0))).when(scheduledExecutorService).execute(any());
+        doAnswer(invocation -> {
+            polls.add(invocation.getArgument(0));
+            return null;
+        }).when(scheduledExecutorService).schedule(any(Runnable.class), anyLong(), any());
+
+        final BomComputedPoller bomComputedPoller = new BomComputedPoller(codeLocationService, notificationService, new PrintStreamIntLogger(System.out, LogLevel.INFO), scheduledExecutorService, 10, 100);
+        final CompletableFuture<Void> firstWait = bomComputedPoller.waitForCodeLocations(createRange("2018-06-01T09:00:00.000Z"), Collections.singleton("first"), 60);
+        final CompletableFuture<Void> laterWait = bomComputedPoller.waitForCodeLocations(createRange("2018-06-01T11:00:00.000Z"), Collections.singleton("later"), 60);
+        polls.remove().run();
+        assertTrue(firstWait.isDone());
+        // the first wait is removed, so the notification for "earlier" is older than every active wait and is forgotten
+        polls.remove().run();
+
+        final CompletableFuture<Void> earlierWait = bomComputedPoller.waitForCodeLocations(createRange("2018-06-01T10:00:00.000Z"), Collections.singleton("earlier"), 60);
+        polls.remove().run();
+        assertTrue(earlierWait.isDone());
+        earlierWait.get();
+        assertFalse(laterWait.isDone());
+    }
+
+    @Test
+    public void testOneSharedPollerPerConnection() throws Exception {
+        final CodeLocationService codeLocationService = mock(CodeLocationService.class);
+        final NotificationService notificationService = mock(NotificationService.class);
+        final IntLogger logger = new PrintStreamIntLogger(System.out, LogLevel.INFO);
+        final BlackDuckRestConnection restConnection = mock(BlackDuckRestConnection.class);
+        // a second connection to the same Hub, as another user would have
+        final BlackDuckRestConnection otherRestConnection = mock(BlackDuckRestConnection.class);
+
+        final BomComputedPoller first = BomComputedPoller.getShared(restConnection, codeLocationService, notificationService, logger);
+        assertSame(first, BomComputedPoller.getShared(restConnection, mock(CodeLocationService.class), mock(NotificationService.class), logger));
+        assertNotSame(first, BomComputedPoller.getShared(otherRestConnection, mock(CodeLocationService.class), mock(NotificationService.class), logger));
+    }
+
+}
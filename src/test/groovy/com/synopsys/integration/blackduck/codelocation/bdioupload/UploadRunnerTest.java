@@ -0,0 +1,351 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.codelocation.bdioupload;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.File;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.http.client.entity.GzipCompressingEntity;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.synopsys.integration.blackduck.codelocation.Result;
+import com.synopsys.integration.blackduck.exception.HubIntegrationException;
+import com.synopsys.integration.blackduck.rest.BlackDuckRestConnection;
+import com.synopsys.integration.blackduck.service.HubService;
+import com.synopsys.integration.blackduck.service.HubServicesFactory;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.rest.HttpMethod;
+import com.synopsys.integration.rest.body.FileBodyContent;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+public class UploadRunnerTest {
+    private final UploadRetryPolicy quickRetries = new UploadRetryPolicy(3, 1, 1);
+
+    private HubService createHubService() throws Exception {
+        final HubService hubService = mock(HubService.class);
+        when(hubService.getUri(any())).thenReturn("https://hub-server.com/api/bom-import");
+        return hubService;
+    }
+
+    private BlackDuckRestConnection createRestConnection(final HubService hubService) {
+        final BlackDuckRestConnection restConnection = mock(BlackDuckRestConnection.class);
+        when(restConnection.createRequestBuilder(HttpMethod.POST)).thenAnswer(invocation -> RequestBuilder.post());
+        when(hubService.getRestConnection()).thenReturn(restConnection);
+        return restConnection;
+    }
+
+    private Response createResponse() throws Exception {
+        final Response response = mock(Response.class);
+        when(response.getContentString()).thenReturn("uploaded");
+        return response;
+    }
+
+    @Test
+    public void testTransientFailureIsRetried() throws Exception {
+        final File directory = Files.createTempDirectory(null).toFile();
+        try {
+            final File bdioFile = new File(directory, "bdio.jsonld");
+            FileUtils.writeStringToFile(bdioFile, "{}", StandardCharsets.UTF_8);
+            final HubService hubService = createHubService();
+            final Response response = createResponse();
+            when(hubService.executeRequest(any(Request.class))).thenThrow(new IntegrationRestException(503, "Service Unavailable", "", "Connection Error: 503")).thenReturn(response);
+
+            final UploadBatch uploadBatch = new UploadBatch();
+            uploadBatch.addUploadTarget(UploadTarget.createDefault("code location", bdioFile));
+            final UploadBatchOutput output = new UploadRunner(new PrintStreamIntLogger(System.out, LogLevel.INFO), hubService, quickRetries).executeUploads(uploadBatch);
+
+            assertEquals(Result.SUCCESS, output.getOutputs().get(0).getResult());
+            verify(hubService, times(2)).executeRequest(any(Request.class));
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    @Test
+    public void testNoRetriesUnlessAskedFor() throws Exception {
+        final File directory = Files.createTempDirectory(null).toFile();
+        try {
+            final File bdioFile = new File(directory, "bdio.jsonld");
+            FileUtils.writeStringToFile(bdioFile, "{}", StandardCharsets.UTF_8);
+            final HubService hubService = createHubService();
+            final Response response = createResponse();
+            when(hubService.executeRequest(any(Request.class))).thenThrow(new IntegrationRestException(503, "Service Unavailable", "", "Connection Error: 503")).thenReturn(response);
+
+            final UploadBatch uploadBatch = new UploadBatch();
+            uploadBatch.addUploadTarget(UploadTarget.createDefault("code location", bdioFile));
+            final UploadBatchOutput output = new UploadRunner(new PrintStreamIntLogger(System.out, LogLevel.INFO), hubService).executeUploads(uploadBatch);
+
+            assertEquals(Result.FAILURE, output.getOutputs().get(0).getResult());
+            verify(hubService, times(1)).executeRequest(any(Request.class));
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    @Test
+    public void testConnectionFailureIsRetried() throws Exception {
+        final File directory = Files.createTempDirectory(null).toFile();
+        try {
+            final File bdioFile = new File(directory, "bdio.jsonld");
+            FileUtils.writeStringToFile(bdioFile, "{}", StandardCharsets.UTF_8);
+            final HubService hubService = createHubService();
+            final Response response = createResponse();
+            // the connection problem arrives wrapped, just as it does from a real connection
+            when(hubService.executeRequest(any(Request.class))).thenThrow(new IntegrationException("Could not execute the request", new SocketTimeoutException("Read timed out"))).thenReturn(response);
+
+            final UploadBatch uploadBatch = new UploadBatch();
+            uploadBatch.addUploadTarget(UploadTarget.createDefault("code location", bdioFile));
+            final UploadBatchOutput output = new UploadRunner(new PrintStreamIntLogger(System.out, LogLevel.INFO), hubService, quickRetries).executeUploads(uploadBatch);
+
+            assertEquals(Result.SUCCESS, output.getOutputs().get(0).getResult());
+            verify(hubService, times(2)).executeRequest(any(Request.class));
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    @Test
+    public void testManifestTracksEachFileOfACodeLocation() throws Exception {
+        final File directory = Files.createTempDirectory(null).toFile();
+        try {
+            final File firstFile = new File(directory, "first.jsonld");
+            final File secondFile = new File(directory, "second.jsonld");
+            FileUtils.writeStringToFile(firstFile, "{}", StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(secondFile, "{}", StandardCharsets.UTF_8);
+            final UploadBatch uploadBatch = new UploadBatch();
+            uploadBatch.addUploadTarget(UploadTarget.createDefault("code location", firstFile));
+            uploadBatch.addUploadTarget(UploadTarget.createDefault("code location", secondFile));
+            final File manifestFile = new File(directory, "manifest.json");
+
+            final HubService firstRunHubService = createHubService();
+            final Response response = createResponse();
+            when(firstRunHubService.executeRequest(any(Request.class))).thenReturn(response).thenThrow(new IntegrationRestException(400, "Bad Request", "", "Connection Error: 400"));
+            new UploadRunner(new PrintStreamIntLogger(System.out, LogLevel.INFO), firstRunHubService, quickRetries).executeUploads(uploadBatch, new UploadManifest(manifestFile, HubServicesFactory.createDefaultGson()));
+
+            final HubService secondRunHubService = createHubService();
+            when(secondRunHubService.executeRequest(any(Request.class))).thenReturn(response);
+            final UploadBatchOutput secondOutput = new UploadRunner(new PrintStreamIntLogger(System.out, LogLevel.INFO), secondRunHubService, quickRetries)
+                                                           .executeUploads(uploadBatch, new UploadManifest(manifestFile, HubServicesFactory.createDefaultGson()));
+            assertEquals(2, secondOutput.getOutputs().size());
+            final ArgumentCaptor<Request> requestCaptor = ArgumentCaptor.forClass(Request.class);
+            verify(secondRunHubService, times(1)).executeRequest(requestCaptor.capture());
+            assertEquals(secondFile, ((FileBodyContent) requestCaptor.getValue().getBodyContent()).getBodyContentFile());
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    @Test
+    public void testManifestSkipsCompletedTargets() throws Exception {
+        final File directory = Files.createTempDirectory(null).toFile();
+        try {
+            final File uploadedFile = new File(directory, "uploaded.jsonld");
+            final File failedFile = new File(directory, "failed.jsonld");
+            FileUtils.writeStringToFile(uploadedFile, "{}", StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(failedFile, "{}", StandardCharsets.UTF_8);
+            final UploadBatch uploadBatch = new UploadBatch();
+            uploadBatch.addUploadTarget(UploadTarget.createDefault("uploaded", uploadedFile));
+            uploadBatch.addUploadTarget(UploadTarget.createDefault("failed", failedFile));
+            final File manifestFile = new File(directory, "manifest.json");
+
+            final HubService firstRunHubService = createHubService();
+            final Response response = createResponse();
+            when(firstRunHubService.executeRequest(any(Request.class))).thenReturn(response).thenThrow(new IntegrationRestException(400, "Bad Request", "", "Connection Error: 400"));
+            final UploadBatchOutput firstOutput = new UploadRunner(new PrintStreamIntLogger(System.out, LogLevel.INFO), firstRunHubService, quickRetries)
+                                                          .executeUploads(uploadBatch, new UploadManifest(manifestFile, HubServicesFactory.createDefaultGson()));
+            assertEquals(1, firstOutput.getSuccessfulCodeLocationNames().size());
+            verify(firstRunHubService, times(2)).executeRequest(any(Request.class));
+
+            final HubService secondRunHubService = createHubService();
+            when(secondRunHubService.executeRequest(any(Request.class))).thenReturn(response);
+            final UploadBatchOutput secondOutput = new UploadRunner(new PrintStreamIntLogger(System.out, LogLevel.INFO), secondRunHubService, quickRetries)
+                                                           .executeUploads(uploadBatch, new UploadManifest(manifestFile, HubServicesFactory.createDefaultGson()));
+            assertEquals(2, secondOutput.getSuccessfulCodeLocationNames().size());
+            // nothing new was sent for the skipped target, so no new BOM will be computed for it
+            assertEquals(Collections.singleton("failed"), secondOutput.getCodeLocationNamesToWaitFor());
+            verify(secondRunHubService, times(1)).executeRequest(any(Request.class));
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    @Test
+    public void testBrokenUploadCancelsTheOthers() throws Exception {
+        final File directory = Files.createTempDirectory(null).toFile();
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            final File slowFile = new File(directory, "slow.jsonld");
+            final File brokenFile = new File(directory, "broken.jsonld");
+            FileUtils.writeStringToFile(slowFile, "{}", StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(brokenFile, "{}", StandardCharsets.UTF_8);
+            final HubService hubService = createHubService();
+            final CountDownLatch slowUploadStarted = new CountDownLatch(1);
+            final CountDownLatch slowUploadInterrupted = new CountDownLatch(1);
+            when(hubService.executeRequest(any(Request.class))).thenAnswer(invocation -> {
+                final Request request = invocation.getArgument(0);
+                if (brokenFile.equals(((FileBodyContent) request.getBodyContent()).getBodyContentFile())) {
+                    slowUploadStarted.await();
+                    throw new AssertionError("broken");
+                }
+                slowUploadStarted.countDown();
+                try {
+                    Thread.sleep(60000);
+                } catch (final InterruptedException e) {
+                    slowUploadInterrupted.countDown();
+                    throw e;
+                }
+                return createResponse();
+            });
+
+            final UploadBatch uploadBatch = new UploadBatch();
+            uploadBatch.addUploadTarget(UploadTarget.createDefault("slow", slowFile));
+            uploadBatch.addUploadTarget(UploadTarget.createDefault("broken", brokenFile));
+            final UploadRunner uploadRunner = new UploadRunner(new PrintStreamIntLogger(System.out, LogLevel.INFO), hubService, executorService, quickRetries);
+
+            assertThrows(HubIntegrationException.class, () -> uploadRunner.executeUploads(uploadBatch));
+            assertTrue(slowUploadInterrupted.await(5, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdownNow();
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    @Test
+    public void testUploadStreamsTheFile() throws Exception {
+        final File directory = Files.createTempDirectory(null).toFile();
+        try {
+            final File bdioFile = new File(directory, "bdio.jsonld");
+            FileUtils.writeStringToFile(bdioFile, "{}", StandardCharsets.UTF_8);
+            final HubService hubService = createHubService();
+            final Response response = createResponse();
+            when(hubService.executeRequest(any(Request.class))).thenReturn(response);
+
+            final UploadBatch uploadBatch = new UploadBatch();
+            uploadBatch.addUploadTarget(UploadTarget.createDefault("code location", bdioFile));
+            final UploadBatchOutput output = new UploadRunner(new PrintStreamIntLogger(System.out, LogLevel.INFO), hubService, quickRetries).executeUploads(uploadBatch);
+
+            assertEquals(Result.SUCCESS, output.getOutputs().get(0).getResult());
+            final ArgumentCaptor<Request> requestCaptor = ArgumentCaptor.forClass(Request.class);
+            verify(hubService).executeRequest(requestCaptor.capture());
+            assertTrue(requestCaptor.getValue().getBodyContent() instanceof FileBodyContent);
+            assertEquals("application/ld+json", requestCaptor.getValue().getMimeType());
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    @Test
+    public void testCompressedUploadIsGzipped() throws Exception {
+        final File directory = Files.createTempDirectory(null).toFile();
+        try {
+            final File bdioFile = new File(directory, "bdio.jsonld");
+            FileUtils.writeStringToFile(bdioFile, "{}", StandardCharsets.UTF_8);
+            final HubService hubService = createHubService();
+            final BlackDuckRestConnection restConnection = createRestConnection(hubService);
+            final Response response = createResponse();
+            when(restConnection.executeRequest(any(HttpUriRequest.class))).thenReturn(response);
+
+            final UploadBatch uploadBatch = new UploadBatch(true);
+            uploadBatch.addUploadTarget(UploadTarget.createDefault("code location", bdioFile));
+            final UploadBatchOutput output = new UploadRunner(new PrintStreamIntLogger(System.out, LogLevel.INFO), hubService, quickRetries).executeUploads(uploadBatch);
+
+            assertEquals(Result.SUCCESS, output.getOutputs().get(0).getResult());
+            final ArgumentCaptor<HttpUriRequest> requestCaptor = ArgumentCaptor.forClass(HttpUriRequest.class);
+            verify(restConnection).executeRequest(requestCaptor.capture());
+            assertTrue(((HttpEntityEnclosingRequestBase) requestCaptor.getValue()).getEntity() instanceof GzipCompressingEntity);
+            verify(hubService, never()).executeRequest(any(Request.class));
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    @Test
+    public void testRejectedCompressionFallsBackForTheRestOfTheBatch() throws Exception {
+        final File directory = Files.createTempDirectory(null).toFile();
+        try {
+            final File firstFile = new File(directory, "first.jsonld");
+            final File secondFile = new File(directory, "second.jsonld");
+            FileUtils.writeStringToFile(firstFile, "{}", StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(secondFile, "{}", StandardCharsets.UTF_8);
+            final HubService hubService = createHubService();
+            final BlackDuckRestConnection restConnection = createRestConnection(hubService);
+            when(restConnection.executeRequest(any(HttpUriRequest.class))).thenThrow(new IntegrationRestException(415, "Unsupported Media Type", "", "Connection Error: 415"));
+            final Response response = createResponse();
+            when(hubService.executeRequest(any(Request.class))).thenReturn(response);
+
+            final UploadBatch uploadBatch = new UploadBatch(true);
+            uploadBatch.addUploadTarget(UploadTarget.createDefault("first", firstFile));
+            uploadBatch.addUploadTarget(UploadTarget.createDefault("second", secondFile));
+            final UploadBatchOutput output = new UploadRunner(new PrintStreamIntLogger(System.out, LogLevel.INFO), hubService, quickRetries).executeUploads(uploadBatch);
+
+            assertEquals(2, output.getSuccessfulCodeLocationNames().size());
+            verify(restConnection, times(1)).executeRequest(any(HttpUriRequest.class));
+            verify(hubService, times(2)).executeRequest(any(Request.class));
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    @Test
+    public void testBadContentIsNotSentAgainUncompressed() throws Exception {
+        final File directory = Files.createTempDirectory(null).toFile();
+        try {
+            final File bdioFile = new File(directory, "bdio.jsonld");
+            FileUtils.writeStringToFile(bdioFile, "{}", StandardCharsets.UTF_8);
+            final HubService hubService = createHubService();
+            final BlackDuckRestConnection restConnection = createRestConnection(hubService);
+            when(restConnection.executeRequest(any(HttpUriRequest.class))).thenThrow(new IntegrationRestException(400, "Bad Request", "The bdio document is missing its project.", "Connection Error: 400"));
+
+            final UploadBatch uploadBatch = new UploadBatch(true);
+            uploadBatch.addUploadTarget(UploadTarget.createDefault("code location", bdioFile));
+            final UploadBatchOutput output = new UploadRunner(new PrintStreamIntLogger(System.out, LogLevel.INFO), hubService, quickRetries).executeUploads(uploadBatch);
+
+            assertEquals(Result.FAILURE, output.getOutputs().get(0).getResult());
+            verify(hubService, never()).executeRequest(any(Request.class));
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.codelocation.signaturescanner.command;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.blackduck.codelocation.Result;
+import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.util.IntEnvironmentVariables;
+
+public class ScanCancellationTest {
+    private final IntLogger logger = new PrintStreamIntLogger(System.out, LogLevel.INFO);
+
+    @Test
+    public void testCancelKillsRegisteredProcesses() throws Exception {
+        Assumptions.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+        final Process process = new ProcessBuilder("sleep", "60").start();
+        final ScanCancellation scanCancellation = new ScanCancellation();
+        scanCancellation.register(process);
+
+        scanCancellation.cancel();
+
+        assertTrue(process.waitFor(10, TimeUnit.SECONDS));
+        assertTrue(scanCancellation.isCancelled());
+        assertFalse(scanCancellation.isTimedOut());
+    }
+
+    @Test
+    public void testScansAfterBatchTimeoutDoNotStart() {
+        final ScanCommand scanCommand = mock(ScanCommand.class);
+        when(scanCommand.getName()).thenReturn("code location");
+        when(scanCommand.getTargetPath()).thenReturn("/target");
+        final ScanPathsUtility scanPathsUtility = mock(ScanPathsUtility.class);
+        final ScanCancellation scanCancellation = new ScanCancellation();
+        scanCancellation.timeOut();
+
+        final ScanCommandCallable scanCommandCallable = new ScanCommandCallable(logger, scanPathsUtility, new IntEnvironmentVariables(), scanCommand, false, ScanProgressListener.NONE, 0, scanCancellation);
+        final ScanCommandOutput scanCommandOutput = scanCommandCallable.call();
+
+        assertEquals(Result.TIMEOUT, scanCommandOutput.getResult());
+        verifyZeroInteractions(scanPathsUtility);
+    }
+
+}
@@ -0,0 +1,100 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.codelocation.signaturescanner.command;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+
+public class ScanCommandSchedulerTest {
+    private final IntLogger logger = new PrintStreamIntLogger(System.out, LogLevel.INFO);
+
+    private ScanCommand createScanCommand(final int scanMemoryInMegabytes, final String targetPath) {
+        final ScanCommand scanCommand = mock(ScanCommand.class);
+        when(scanCommand.getScanMemoryInMegabytes()).thenReturn(scanMemoryInMegabytes);
+        when(scanCommand.getTargetPath()).thenReturn(targetPath);
+        return scanCommand;
+    }
+
+    @Test
+    public void testAdmissionWaitsForMemory() throws Exception {
+        final ScanCommandScheduler scanCommandScheduler = new ScanCommandScheduler(logger, 4096, 8);
+        final ScanCommand first = createScanCommand(3072, null);
+        final ScanCommand second = createScanCommand(2048, null);
+
+        scanCommandScheduler.admit(first);
+        final CountDownLatch admitted = new CountDownLatch(1);
+        final Thread waiting = new Thread(() -> {
+            try {
+                scanCommandScheduler.admit(second);
+                admitted.countDown();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiting.start();
+
+        assertFalse(admitted.await(200, TimeUnit.MILLISECONDS));
+        scanCommandScheduler.release(first);
+        assertTrue(admitted.await(5, TimeUnit.SECONDS));
+        assertEquals(2048, scanCommandScheduler.getMemoryInUseInMegabytes());
+        assertEquals(1, scanCommandScheduler.getScansRunning());
+    }
+
+    @Test
+    public void testOversizedScanIsAdmittedAlone() throws Exception {
+        final ScanCommandScheduler scanCommandScheduler = new ScanCommandScheduler(logger, 1024, 2);
+        final ScanCommand oversized = createScanCommand(8192, null);
+
+        scanCommandScheduler.admit(oversized);
+        assertEquals(1024, scanCommandScheduler.getMemoryInUseInMegabytes());
+        scanCommandScheduler.release(oversized);
+        assertEquals(0, scanCommandScheduler.getMemoryInUseInMegabytes());
+    }
+
+    @Test
+    public void testLargestScansFirst() {
+        final ScanCommand small = createScanCommand(1024, null);
+        final ScanCommand firstLarge = createScanCommand(4096, null);
+        final ScanCommand secondLarge = createScanCommand(4096, null);
+        // the target is never looked at, so one that cannot be read does not matter
+        final ScanCommand unreadable = createScanCommand(2048, "/does/not/exist");
+
+        final ScanCommandScheduler scanCommandScheduler = new ScanCommandScheduler(logger, 4096, 2);
+        final List<ScanCommand> ordered = scanCommandScheduler.orderLargestScansFirst(Arrays.asList(small, firstLarge, unreadable, secondLarge));
+        assertEquals(Arrays.asList(firstLarge, secondLarge, unreadable, small), ordered);
+        verify(unreadable, never()).getTargetPath();
+    }
+
+}
@@ -0,0 +1,118 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.codelocation.signaturescanner.command;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+
+public class ScanProgressParserTest {
+    private final IntLogger logger = new PrintStreamIntLogger(System.out, LogLevel.INFO);
+
+    @Test
+    public void testParsesScannerLogEntries() {
+        final List<ScanProgressEvent> events = new ArrayList<>();
+        final ScanProgressParser scanProgressParser = new ScanProgressParser(logger, "code location", events::add);
+
+        scanProgressParser.parseLogEntry("INFO: Starting signature scan.");
+        scanProgressParser.parseLogEntry("INFO: Scanned 1,234 files");
+        scanProgressParser.parseLogEntry("INFO: Uploading scan results");
+        scanProgressParser.parseLogEntry("INFO: Upload completed");
+        scanProgressParser.parseLogEntry("INFO: Finished in 12 seconds");
+        scanProgressParser.parseLogEntry("ERROR: could not connect");
+        scanProgressParser.parseLogEntry("INFO: nothing interesting");
+
+        assertEquals(6, events.size());
+        assertEquals(ScanProgressEventType.PHASE_CHANGED, events.get(0).getType());
+        assertEquals("signature scan", events.get(0).getPhase().get());
+        assertEquals(ScanProgressEventType.FILES_SCANNED, events.get(1).getType());
+        assertEquals(Long.valueOf(1234), events.get(1).getFilesScanned().get());
+        assertEquals(ScanProgressEventType.UPLOAD_STARTED, events.get(2).getType());
+        assertEquals(ScanProgressEventType.UPLOAD_FINISHED, events.get(3).getType());
+        assertEquals(ScanProgressEventType.FINISHED, events.get(4).getType());
+        assertEquals(Long.valueOf(12000), events.get(4).getDurationInMilliseconds().get());
+        assertEquals(ScanProgressEventType.ERROR, events.get(5).getType());
+        for (final ScanProgressEvent event : events) {
+            assertEquals("code location", event.getCodeLocationName());
+            assertNotNull(event.getTimestamp());
+        }
+    }
+
+    @Test
+    public void testParsesCapturedScannerOutput() throws Exception {
+        final List<ScanProgressEvent> events = new ArrayList<>();
+        final ScanProgressParser scanProgressParser = new ScanProgressParser(logger, "code location", events::add);
+        try (InputStream scannerOutput = getClass().getResourceAsStream("/scan_cli_output.log")) {
+            IOUtils.readLines(scannerOutput, StandardCharsets.UTF_8).forEach(scanProgressParser::parseLogEntry);
+        }
+
+        final List<ScanProgressEventType> eventTypes = events.stream().map(ScanProgressEvent::getType).collect(Collectors.toList());
+        assertEquals(Arrays.asList(ScanProgressEventType.PHASE_CHANGED, ScanProgressEventType.FILES_SCANNED, ScanProgressEventType.FILES_SCANNED, ScanProgressEventType.PHASE_CHANGED,
+                ScanProgressEventType.UPLOAD_STARTED, ScanProgressEventType.UPLOAD_FINISHED, ScanProgressEventType.FINISHED, ScanProgressEventType.FINISHED, ScanProgressEventType.ERROR,
+                ScanProgressEventType.ERROR), eventTypes);
+        assertEquals("signature scan", events.get(0).getPhase().get());
+        assertEquals(Long.valueOf(1234), events.get(2).getFilesScanned().get());
+        assertEquals("Post Scan", events.get(3).getPhase().get());
+        assertEquals(Long.valueOf(51000), events.get(6).getDurationInMilliseconds().get());
+        assertEquals(Long.valueOf(53000), events.get(7).getDurationInMilliseconds().get());
+    }
+
+    @Test
+    public void testOnlyRecognizedLinesProduceEvents() {
+        final List<ScanProgressEvent> events = new ArrayList<>();
+        final ScanProgressParser scanProgressParser = new ScanProgressParser(logger, "code location", events::add);
+
+        scanProgressParser.parseLogEntry("WARN: Could not read the file: java.io.IOException: Permission denied");
+        scanProgressParser.parseLogEntry("INFO: Starting up scan worker threads");
+        scanProgressParser.parseLogEntry("INFO: Found an Exception: in the file name");
+        scanProgressParser.parseLogEntry("INFO: the upload of the previous scan was completed");
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void testListenerFailureIsIgnored() {
+        final ScanProgressParser scanProgressParser = new ScanProgressParser(logger, "code location", event -> {
+            throw new IllegalStateException("broken listener");
+        });
+
+        assertDoesNotThrow(() -> {
+            scanProgressParser.parseLogEntry("ERROR: could not connect");
+            scanProgressParser.reportCompleted(0);
+        });
+    }
+
+}
@@ -0,0 +1,106 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.notification;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.blackduck.api.generated.view.NotificationView;
+import com.synopsys.integration.blackduck.service.HubService;
+import com.synopsys.integration.blackduck.service.HubServicesFactory;
+import com.synopsys.integration.blackduck.service.NotificationService;
+import com.synopsys.integration.log.BufferedIntLogger;
+
+public class NotificationCursorTest {
+    private final Gson gson = HubServicesFactory.createDefaultGson();
+
+    private NotificationView createNotificationView(final String createdAt, final String href) {
+        final String json = String.format("{\"createdAt\":\"%s\",\"_meta\":{\"href\":\"%s\"}}", createdAt, href);
+        final NotificationView notificationView = gson.fromJson(json, NotificationView.class);
+        notificationView.json = json;
+        return notificationView;
+    }
+
+    @Test
+    public void testBoundaryNotificationsAreOnlySeenOnce() {
+        final NotificationView first = createNotificationView("2018-06-01T10:00:00.000Z", "http://hub/api/notifications/1");
+        final NotificationView second = createNotificationView("2018-06-01T10:00:05.000Z", "http://hub/api/notifications/2");
+        final NotificationView sameInstantAsSecond = createNotificationView("2018-06-01T10:00:05.000Z", "http://hub/api/notifications/3");
+
+        final NotificationCursor cursor = NotificationCursor.startingAt(new Date(0)).advance(Arrays.asList(first, second));
+        assertEquals(second.createdAt, cursor.getLastCreatedAt());
+        assertFalse(cursor.isAfterCursor(first));
+        assertFalse(cursor.isAfterCursor(second));
+        assertTrue(cursor.isAfterCursor(sameInstantAsSecond));
+
+        final NotificationCursor advanced = cursor.advance(Arrays.asList(second, sameInstantAsSecond));
+        assertEquals(2, advanced.getHrefsAtLastCreatedAt().size());
+        assertFalse(advanced.isAfterCursor(sameInstantAsSecond));
+    }
+
+    @Test
+    public void testStoreRoundTrip() throws Exception {
+        final File cursorDirectory = Files.createTempDirectory(null).toFile();
+        try {
+            final NotificationCursorStore store = new NotificationCursorStore(new File(cursorDirectory, "cursor.json"), gson);
+            assertFalse(store.load().isPresent());
+
+            final NotificationView notification = createNotificationView("2018-06-01T10:00:00.000Z", "http://hub/api/notifications/1");
+            store.save(NotificationCursor.startingAt(new Date(0)).advance(Arrays.asList(notification)));
+
+            final Optional<NotificationCursor> loaded = new NotificationCursorStore(new File(cursorDirectory, "cursor.json"), gson).load();
+            assertTrue(loaded.isPresent());
+            assertEquals(notification.createdAt, loaded.get().getLastCreatedAt());
+            assertFalse(loaded.get().isAfterCursor(notification));
+        } finally {
+            FileUtils.deleteQuietly(cursorDirectory);
+        }
+    }
+
+    @Test
+    public void testCursorReadsPastTheClientClock() throws Exception {
+        final NotificationService notificationService = Mockito.spy(new NotificationService(Mockito.mock(HubService.class), new BufferedIntLogger()));
+        final ArgumentCaptor<Date> endDateCaptor = ArgumentCaptor.forClass(Date.class);
+        Mockito.doReturn(Collections.emptyList()).when(notificationService).getFilteredNotifications(Mockito.any(), endDateCaptor.capture(), Mockito.any());
+
+        notificationService.getNotificationsAfterCursor(NotificationCursor.startingAt(new Date(0)), Collections.singletonList("VERSION_BOM_CODE_LOCATION_BOM_COMPUTED"));
+
+        // a notification stamped by a server clock that is a day ahead must still be inside the window
+        assertTrue(endDateCaptor.getValue().getTime() > System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1));
+    }
+
+}
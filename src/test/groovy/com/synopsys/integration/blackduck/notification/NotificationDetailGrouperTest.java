@@ -0,0 +1,91 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.notification;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.blackduck.api.generated.enumeration.NotificationType;
+import com.synopsys.integration.blackduck.notification.content.detail.NotificationContentDetail;
+
+public class NotificationDetailGrouperTest {
+    private static final String PROJECT_VERSION = "https://hub/api/projects/1/versions/1";
+
+    private NotificationDetailResult createResult(final NotificationType type, final long createdAt, final String componentVersion) {
+        final NotificationContentDetail detail = NotificationContentDetail.createDetail(NotificationContentDetail.CONTENT_KEY_GROUP_VULNERABILITY, Optional.of("project"), Optional.of("1.0"), Optional.of(PROJECT_VERSION),
+                Optional.of("component"), Optional.empty(), Optional.of("2.0"), Optional.of(componentVersion), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty());
+        return new NotificationDetailResult(null, null, new Date(createdAt), type, NotificationContentDetail.CONTENT_KEY_GROUP_VULNERABILITY, Optional.empty(), Collections.singletonList(detail));
+    }
+
+    @Test
+    public void testBurstIsGroupedWithinTheWindow() {
+        final NotificationDetailResult first = createResult(NotificationType.VULNERABILITY, 1000, "https://hub/api/components/1/versions/1");
+        final NotificationDetailResult second = createResult(NotificationType.VULNERABILITY, 2000, "https://hub/api/components/1/versions/1");
+        final NotificationDetailResult otherComponent = createResult(NotificationType.VULNERABILITY, 2500, "https://hub/api/components/2/versions/1");
+        final NotificationDetailResult afterWindow = createResult(NotificationType.VULNERABILITY, 9000, "https://hub/api/components/1/versions/1");
+        final NotificationDetailResults results = new NotificationDetailResults(Arrays.asList(afterWindow, otherComponent, second, first), Optional.empty(), Optional.empty());
+
+        final List<NotificationDetailGroup> groups = new NotificationDetailGrouper(5000).groupByContentDetailKey(results);
+        assertEquals(3, groups.size());
+        assertEquals(Arrays.asList(first, second), groups.get(0).getNotificationDetailResults());
+        assertEquals(2, groups.get(0).getDetailCount());
+        assertEquals(new Date(2000), groups.get(0).getLastCreatedAt());
+        assertEquals(Arrays.asList(otherComponent), groups.get(1).getNotificationDetailResults());
+        assertEquals(Arrays.asList(afterWindow), groups.get(2).getNotificationDetailResults());
+    }
+
+    @Test
+    public void testDifferentTypesAreNotGrouped() {
+        final NotificationDetailResult violation = createResult(NotificationType.RULE_VIOLATION, 1000, "https://hub/api/components/1/versions/1");
+        final NotificationDetailResult cleared = createResult(NotificationType.RULE_VIOLATION_CLEARED, 1500, "https://hub/api/components/1/versions/1");
+        final NotificationDetailResults results = new NotificationDetailResults(Arrays.asList(cleared, violation), Optional.empty(), Optional.empty());
+
+        final List<NotificationDetailGroup> groups = new NotificationDetailGrouper(5000).groupByContentDetailKey(results);
+        assertEquals(2, groups.size());
+        assertEquals(NotificationType.RULE_VIOLATION, groups.get(0).getType());
+        assertEquals(NotificationType.RULE_VIOLATION_CLEARED, groups.get(1).getType());
+    }
+
+    @Test
+    public void testOppositeTypeClosesTheOpenGroup() {
+        final NotificationDetailResult violation = createResult(NotificationType.RULE_VIOLATION, 1000, "https://hub/api/components/1/versions/1");
+        final NotificationDetailResult cleared = createResult(NotificationType.RULE_VIOLATION_CLEARED, 1500, "https://hub/api/components/1/versions/1");
+        final NotificationDetailResult violationAgain = createResult(NotificationType.RULE_VIOLATION, 2000, "https://hub/api/components/1/versions/1");
+        final NotificationDetailResults results = new NotificationDetailResults(Arrays.asList(violationAgain, cleared, violation), Optional.empty(), Optional.empty());
+
+        final List<NotificationDetailGroup> groups = new NotificationDetailGrouper(5000).groupByContentDetailKey(results);
+        assertEquals(3, groups.size());
+        assertEquals(Arrays.asList(violation), groups.get(0).getNotificationDetailResults());
+        assertEquals(Arrays.asList(cleared), groups.get(1).getNotificationDetailResults());
+        assertEquals(Arrays.asList(violationAgain), groups.get(2).getNotificationDetailResults());
+    }
+
+}
@@ -0,0 +1,103 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.notification.content.detail;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.blackduck.api.generated.enumeration.NotificationType;
+import com.synopsys.integration.blackduck.api.generated.view.NotificationView;
+import com.synopsys.integration.blackduck.notification.CommonNotificationView;
+import com.synopsys.integration.blackduck.notification.NotificationDetailResult;
+import com.synopsys.integration.blackduck.notification.content.BomComputedNotificationContent;
+import com.synopsys.integration.blackduck.notification.content.NotificationContent;
+import com.synopsys.integration.blackduck.notification.content.RuleViolationNotificationContent;
+import com.synopsys.integration.blackduck.service.HubServicesFactory;
+
+public class NotificationContentDetailFactoryTest {
+    private static final String RULE_VIOLATION_JSON = "{\"type\":\"RULE_VIOLATION\",\"contentType\":\"application/json\",\"createdAt\":\"2018-06-21T18:00:17.457Z\","
+                                                              + "\"content\":{\"projectName\":\"project\",\"projectVersionName\":\"1.0\",\"projectVersion\":\"https://hub/api/projects/1/versions/1\","
+                                                              + "\"componentVersionStatuses\":[{\"componentName\":\"component\",\"componentVersion\":\"https://hub/api/components/1/versions/1\",\"componentVersionName\":\"2.0\","
+                                                              + "\"policies\":[\"https://hub/api/policy-rules/1\"],\"componentIssueLink\":\"https://hub/api/issues/1\"}],"
+                                                              + "\"policyInfos\":[{\"policy\":\"https://hub/api/policy-rules/1\",\"policyName\":\"No GPL\"}]},"
+                                                              + "\"_meta\":{\"href\":\"https://hub/api/notifications/1\"}}";
+
+    private final Gson gson = HubServicesFactory.createDefaultGson();
+    private final NotificationContentDetailFactory notificationContentDetailFactory = new NotificationContentDetailFactory(gson);
+
+    private NotificationView createNotificationView() {
+        final NotificationView notificationView = gson.fromJson(RULE_VIOLATION_JSON, NotificationView.class);
+        notificationView.json = RULE_VIOLATION_JSON;
+        return notificationView;
+    }
+
+    @Test
+    public void testParseContent() {
+        final NotificationContent notificationContent = notificationContentDetailFactory.parseContent(NotificationType.RULE_VIOLATION, RULE_VIOLATION_JSON).get();
+        assertTrue(notificationContent instanceof RuleViolationNotificationContent);
+        assertEquals("project", ((RuleViolationNotificationContent) notificationContent).projectName);
+    }
+
+    @Test
+    public void testParseBomComputedContent() {
+        final String json = "{\"type\":\"VERSION_BOM_CODE_LOCATION_BOM_COMPUTED\",\"content\":{\"projectVersion\":\"https://hub/api/projects/1/versions/1\",\"codeLocation\":\"https://hub/api/codelocations/1\"}}";
+        final NotificationContent notificationContent = notificationContentDetailFactory.parseContent(NotificationType.VERSION_BOM_CODE_LOCATION_BOM_COMPUTED, json).get();
+        assertEquals("https://hub/api/codelocations/1", ((BomComputedNotificationContent) notificationContent).codeLocation);
+    }
+
+    @Test
+    public void testParsedContentIsUsedInsteadOfJson() {
+        final NotificationView notificationView = createNotificationView();
+        final NotificationContent notificationContent = notificationContentDetailFactory.parseContent(notificationView.type, notificationView.json).get();
+        notificationView.json = null;
+
+        final NotificationDetailResult result = notificationContentDetailFactory.generateContentDetails(new CommonNotificationView(notificationView, notificationContent));
+        assertSame(notificationContent, result.getNotificationContent());
+        assertEquals(1, result.getNotificationContentDetails().size());
+        assertEquals("No GPL", result.getNotificationContentDetails().get(0).getPolicyName().get());
+    }
+
+    @Test
+    public void testContentReadFromJson() {
+        final NotificationDetailResult result = notificationContentDetailFactory.generateContentDetails(new CommonNotificationView(createNotificationView()));
+        assertEquals(NotificationContentDetail.CONTENT_KEY_GROUP_POLICY, result.getNotificationGroup());
+        assertEquals("2.0", result.getNotificationContentDetails().get(0).getComponentVersionName().get());
+    }
+
+    @Test
+    public void testDetailsShareLinksThroughTheSymbolTable() {
+        final NotificationSymbolTable symbolTable = new NotificationSymbolTable();
+        final NotificationContentDetailFactory sharingFactory = new NotificationContentDetailFactory(gson, symbolTable);
+        final NotificationContentDetail first = sharingFactory.generateContentDetails(new CommonNotificationView(createNotificationView())).getNotificationContentDetails().get(0);
+        final NotificationContentDetail second = sharingFactory.generateContentDetails(new CommonNotificationView(createNotificationView())).getNotificationContentDetails().get(0);
+
+        assertSame(first.getProjectVersion().get(), second.getProjectVersion().get());
+        assertSame(first.getPolicyName().get(), second.getPolicyName().get());
+        assertEquals(first.getContentDetailKey(), second.getContentDetailKey());
+        assertEquals(notificationContentDetailFactory.generateContentDetails(new CommonNotificationView(createNotificationView())).getNotificationContentDetails().get(0).getContentDetailKey(), first.getContentDetailKey());
+    }
+
+}
@@ -0,0 +1,109 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.blackduck.api.generated.enumeration.NotificationType;
+import com.synopsys.integration.blackduck.api.generated.view.NotificationUserView;
+import com.synopsys.integration.blackduck.api.generated.view.NotificationView;
+import com.synopsys.integration.blackduck.notification.CommonNotificationView;
+import com.synopsys.integration.blackduck.notification.NotificationDetailResult;
+import com.synopsys.integration.blackduck.notification.NotificationDetailResults;
+import com.synopsys.integration.blackduck.notification.content.RuleViolationNotificationContent;
+import com.synopsys.integration.blackduck.notification.content.detail.NotificationContentDetailFactory;
+
+public class CommonNotificationServiceTest {
+    private List<CommonNotificationView> createNewestFirstNotifications(final int count) {
+        final List<CommonNotificationView> notifications = new ArrayList<>();
+        for (int i = count; i > 0; i--) {
+            final NotificationView notificationView = new NotificationView();
+            notificationView.createdAt = new Date(i * 1000L);
+            notifications.add(new CommonNotificationView(notificationView));
+        }
+        return notifications;
+    }
+
+    private NotificationContentDetailFactory createFactory() {
+        final NotificationContentDetailFactory factory = mock(NotificationContentDetailFactory.class);
+        when(factory.generateContentDetails(any())).thenAnswer(invocation -> {
+            final CommonNotificationView view = invocation.getArgument(0);
+            return new NotificationDetailResult(null, null, view.getCreatedAt(), null, null, Optional.empty(), Collections.emptyList());
+        });
+        return factory;
+    }
+
+    private void assertOldestFirst(final NotificationDetailResults results, final int count) {
+        assertEquals(count, results.getResults().size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(new Date((i + 1) * 1000L), results.getResults().get(i).getCreatedAt());
+        }
+        assertEquals(new Date(count * 1000L), results.getLatestNotificationCreatedAtDate().get());
+    }
+
+    @Test
+    public void testOldestFirst() throws Exception {
+        final CommonNotificationService commonNotificationService = new CommonNotificationService(createFactory(), true);
+        assertOldestFirst(commonNotificationService.getNotificationDetailResults(createNewestFirstNotifications(10)), 10);
+    }
+
+    @Test
+    public void testUserNotificationContentIsParsedOnce() throws Exception {
+        final NotificationUserView notificationUserView = new NotificationUserView();
+        notificationUserView.type = NotificationType.RULE_VIOLATION;
+        notificationUserView.json = "{\"type\":\"RULE_VIOLATION\",\"content\":{\"projectName\":\"project\",\"policyInfos\":[],\"componentVersionStatuses\":[]}}";
+        final NotificationContentDetailFactory factory = spy(new NotificationContentDetailFactory(HubServicesFactory.createDefaultGson()));
+
+        final List<CommonNotificationView> commonNotifications = new CommonNotificationService(factory, true).getCommonUserNotificationsWithContent(Collections.singletonList(notificationUserView));
+        final NotificationDetailResult result = factory.generateContentDetails(commonNotifications.get(0));
+
+        assertEquals("project", ((RuleViolationNotificationContent) result.getNotificationContent()).projectName);
+        verify(factory, times(1)).parseContent(any(), any());
+    }
+
+    @Test
+    public void testConcurrentGenerationKeepsOrder() throws Exception {
+        final int count = CommonNotificationService.DETAIL_GENERATION_CHUNK_SIZE * 3 + 7;
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            final CommonNotificationService commonNotificationService = new CommonNotificationService(createFactory(), true, executorService);
+            assertOldestFirst(commonNotificationService.getNotificationDetailResults(createNewestFirstNotifications(count)), count);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.blackduck.api.generated.view.ProjectView;
+import com.synopsys.integration.blackduck.exception.HubIntegrationRuntimeException;
+import com.synopsys.integration.blackduck.rest.BlackDuckRestConnection;
+import com.synopsys.integration.blackduck.service.model.PagedRequest;
+import com.synopsys.integration.blackduck.service.model.RequestFactory;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.BufferedIntLogger;
+import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+public class HubResponsesIteratorTest {
+    private static final int TOTAL_COUNT = 5;
+
+    private final AtomicInteger requestCount = new AtomicInteger(0);
+
+    private HubResponsesTransformer createTransformer(final BlackDuckRestConnection restConnection) {
+        final IntLogger logger = new BufferedIntLogger();
+        final Gson gson = new Gson();
+        final HubResponseTransformer hubResponseTransformer = new HubResponseTransformer(restConnection, gson, logger);
+        return new HubResponsesTransformer(restConnection, hubResponseTransformer, logger);
+    }
+
+    private BlackDuckRestConnection createPagingRestConnection() throws IntegrationException {
+        final BlackDuckRestConnection restConnection = Mockito.mock(BlackDuckRestConnection.class);
+        Mockito.when(restConnection.executeRequest(Mockito.any(Request.class))).thenAnswer(invocation -> {
+            requestCount.incrementAndGet();
+            final Request request = invocation.getArgument(0);
+            final int offset = Integer.parseInt(request.getQueryParameters().get("offset").iterator().next());
+            final int limit = Integer.parseInt(request.getQueryParameters().get("limit").iterator().next());
+            final StringBuilder json = new StringBuilder("{\"totalCount\":" + TOTAL_COUNT + ",\"items\":[");
+            for (int i = offset; i < Math.min(offset + limit, TOTAL_COUNT); i++) {
+                if (i > offset) {
+                    json.append(",");
+                }
+                json.append("{\"name\":\"project" + i + "\"}");
+            }
+            json.append("]}");
+
+            final Response response = Mockito.mock(Response.class);
+            Mockito.when(response.getContentString()).thenReturn(json.toString());
+            return response;
+        });
+        return restConnection;
+    }
+
+    @Test
+    public void testIteratesEveryPageInOrder() throws Exception {
+        final HubResponsesTransformer hubResponsesTransformer = createTransformer(createPagingRestConnection());
+        final PagedRequest pagedRequest = new PagedRequest(RequestFactory.createCommonGetRequestBuilder("http://www.blackducksoftware.com/api/projects", 2, 0));
+
+        final Iterator<ProjectView> iterator = hubResponsesTransformer.getResponsesIterator(pagedRequest, ProjectView.class, null);
+        assertEquals(0, requestCount.get());
+        for (int i = 0; i < TOTAL_COUNT; i++) {
+            assertTrue(iterator.hasNext());
+            assertEquals("project" + i, iterator.next().name);
+        }
+        assertFalse(iterator.hasNext());
+        assertEquals(3, requestCount.get());
+    }
+
+    @Test
+    public void testStreamStopsRequestingPagesOnceSatisfied() throws Exception {
+        final HubResponsesTransformer hubResponsesTransformer = createTransformer(createPagingRestConnection());
+        final PagedRequest pagedRequest = new PagedRequest(RequestFactory.createCommonGetRequestBuilder("http://www.blackducksoftware.com/api/projects", 2, 0));
+
+        final Optional<ProjectView> match = hubResponsesTransformer.streamResponses(pagedRequest, ProjectView.class, null)
+                                                                   .filter(projectView -> "project1".equals(projectView.name))
+                                                                   .findFirst();
+        assertTrue(match.isPresent());
+        assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    public void testFailureIsThrownAsRuntimeException() throws Exception {
+        final BlackDuckRestConnection restConnection = Mockito.mock(BlackDuckRestConnection.class);
+        Mockito.when(restConnection.executeRequest(Mockito.any(Request.class))).thenThrow(new IntegrationException("unavailable"));
+        final HubResponsesTransformer hubResponsesTransformer = createTransformer(restConnection);
+        final PagedRequest pagedRequest = new PagedRequest(RequestFactory.createCommonGetRequestBuilder("http://www.blackducksoftware.com/api/projects"));
+
+        final Iterator<ProjectView> iterator = hubResponsesTransformer.getResponsesIterator(pagedRequest, ProjectView.class, null);
+        try {
+            iterator.hasNext();
+            fail("Should have thrown");
+        } catch (final HubIntegrationRuntimeException e) {
+            assertEquals("unavailable", e.getCause().getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.blackduck.api.generated.view.ProjectView;
+import com.synopsys.integration.blackduck.exception.HubIntegrationException;
+import com.synopsys.integration.blackduck.rest.BlackDuckRestConnection;
+import com.synopsys.integration.blackduck.service.model.PagedRequest;
+import com.synopsys.integration.blackduck.service.model.RequestFactory;
+import com.synopsys.integration.log.BufferedIntLogger;
+import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+public class HubResponsesTransformerTest {
+    private static final int TOTAL_COUNT = 100;
+    private static final int FAILING_OFFSET = 2;
+
+    @Test
+    public void testConcurrentPagingStopsSubmittingAfterAFailure() throws Exception {
+        final AtomicInteger requestCount = new AtomicInteger(0);
+        final BlackDuckRestConnection restConnection = Mockito.mock(BlackDuckRestConnection.class);
+        Mockito.when(restConnection.executeRequest(Mockito.any(Request.class))).thenAnswer(invocation -> {
+            requestCount.incrementAndGet();
+            final Request request = invocation.getArgument(0);
+            final int offset = Integer.parseInt(request.getQueryParameters().get("offset").iterator().next());
+            if (FAILING_OFFSET == offset) {
+                throw new HubIntegrationException("The page could not be retrieved.");
+            }
+            final Response response = Mockito.mock(Response.class);
+            Mockito.when(response.getContentString()).thenReturn("{\"totalCount\":" + TOTAL_COUNT + ",\"items\":[{\"name\":\"project" + offset + "\"}]}");
+            return response;
+        });
+
+        final IntLogger logger = new BufferedIntLogger();
+        final HubResponseTransformer hubResponseTransformer = new HubResponseTransformer(restConnection, new Gson(), logger);
+        final HubResponsesTransformer hubResponsesTransformer = new HubResponsesTransformer(restConnection, hubResponseTransformer, logger);
+        final PagedRequest pagedRequest = new PagedRequest(RequestFactory.createCommonGetRequestBuilder("http://www.blackducksoftware.com/api/projects", 1, 0));
+
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            assertThrows(HubIntegrationException.class, () -> hubResponsesTransformer.getAllResponsesConcurrently(pagedRequest, ProjectView.class, null, 1, executorService));
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertTrue(requestCount.get() < TOTAL_COUNT / 2, "Pages kept being requested after a page failed: " + requestCount.get());
+    }
+
+}
@@ -0,0 +1,142 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.service.bucket;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.blackduck.api.UriSingleResponse;
+import com.synopsys.integration.blackduck.api.core.HubResponse;
+import com.synopsys.integration.blackduck.api.generated.view.ProjectView;
+import com.synopsys.integration.blackduck.service.HubService;
+import com.synopsys.integration.log.BufferedIntLogger;
+
+public class HubBucketServiceTest {
+    @Test
+    public void testEachUriIsRetrievedOnce() throws Exception {
+        final AtomicInteger retrievalCount = new AtomicInteger(0);
+        final CountDownLatch releaseRetrievals = new CountDownLatch(1);
+        final HubService hubService = Mockito.mock(HubService.class);
+        Mockito.when(hubService.getResponse(Mockito.<UriSingleResponse<ProjectView>> any())).thenAnswer(invocation -> {
+            retrievalCount.incrementAndGet();
+            releaseRetrievals.await(10, TimeUnit.SECONDS);
+            return new ProjectView();
+        });
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            final HubBucketService hubBucketService = new HubBucketService(hubService, new BufferedIntLogger(), executorService);
+            final HubBucket hubBucket = new HubBucket();
+            final List<UriSingleResponse<? extends HubResponse>> uriSingleResponses = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                uriSingleResponses.add(new UriSingleResponse<>("http://hub-server.com/api/projects/" + (i % 5), ProjectView.class));
+            }
+
+            hubBucketService.addToTheBucket(hubBucket, uriSingleResponses);
+            hubBucketService.addToTheBucket(hubBucket, uriSingleResponses);
+            releaseRetrievals.countDown();
+
+            executorService.shutdown();
+            assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+            assertEquals(5, retrievalCount.get());
+            assertEquals(5, hubBucket.getAvailableUris().size());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testAsyncCompletesOnceEveryUriIsInTheBucket() throws Exception {
+        final HubService hubService = Mockito.mock(HubService.class);
+        Mockito.when(hubService.getResponse(Mockito.<UriSingleResponse<ProjectView>> any())).thenAnswer(invocation -> new ProjectView());
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            final HubBucketService hubBucketService = new HubBucketService(hubService, new BufferedIntLogger(), executorService);
+            final List<UriSingleResponse<? extends HubResponse>> uriSingleResponses = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                uriSingleResponses.add(new UriSingleResponse<>("http://hub-server.com/api/projects/" + i, ProjectView.class));
+            }
+
+            final HubBucket hubBucket = hubBucketService.startTheBucketAsync(uriSingleResponses).get(10, TimeUnit.SECONDS);
+            assertEquals(10, hubBucket.getAvailableUris().size());
+
+            final UriSingleResponse<ProjectView> first = new UriSingleResponse<>("http://hub-server.com/api/projects/0", ProjectView.class);
+            assertNotNull(hubBucket.getResponseFuture(first).get().get(10, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRejectedFillsCompleteExceptionallyAndCanBeClaimedAgain() throws Exception {
+        final HubService hubService = Mockito.mock(HubService.class);
+        Mockito.when(hubService.getResponse(Mockito.<UriSingleResponse<ProjectView>> any())).thenAnswer(invocation -> new ProjectView());
+
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.shutdown();
+
+        final HubBucket hubBucket = new HubBucket();
+        final List<UriSingleResponse<? extends HubResponse>> uriSingleResponses = new ArrayList<>();
+        uriSingleResponses.add(new UriSingleResponse<>("http://hub-server.com/api/projects/0", ProjectView.class));
+
+        final HubBucketService rejectingService = new HubBucketService(hubService, new BufferedIntLogger(), executorService);
+        final ExecutionException executionException = assertThrows(ExecutionException.class, () -> rejectingService.addToTheBucketAsync(hubBucket, uriSingleResponses).get(10, TimeUnit.SECONDS));
+        assertTrue(executionException.getCause() instanceof RejectedExecutionException);
+
+        final HubBucketService hubBucketService = new HubBucketService(hubService, new BufferedIntLogger());
+        hubBucketService.addToTheBucketAsync(hubBucket, uriSingleResponses).get(10, TimeUnit.SECONDS);
+        assertTrue(hubBucket.get("http://hub-server.com/api/projects/0").hasValidResponse());
+    }
+
+    @Test
+    public void testFailedRestoreStillCompletesTheFill() throws Exception {
+        final HubService hubService = Mockito.mock(HubService.class);
+        final HubBucket hubBucket = new HubBucket() {
+            @Override
+            public boolean restore(final UriSingleResponse<? extends HubResponse> uriSingleResponse) {
+                throw new NullPointerException("corrupt stored response");
+            }
+        };
+        final List<UriSingleResponse<? extends HubResponse>> uriSingleResponses = new ArrayList<>();
+        uriSingleResponses.add(new UriSingleResponse<>("http://hub-server.com/api/projects/0", ProjectView.class));
+
+        final HubBucketService hubBucketService = new HubBucketService(hubService, new BufferedIntLogger());
+        hubBucketService.addToTheBucketAsync(hubBucket, uriSingleResponses).get(10, TimeUnit.SECONDS);
+        assertFalse(hubBucket.get("http://hub-server.com/api/projects/0").hasValidResponse());
+    }
+
+}
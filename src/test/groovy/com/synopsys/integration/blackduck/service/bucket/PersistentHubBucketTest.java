@@ -0,0 +1,84 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.service.bucket;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.blackduck.api.UriSingleResponse;
+import com.synopsys.integration.blackduck.api.generated.view.ProjectView;
+import com.synopsys.integration.blackduck.service.HubServicesFactory;
+
+public class PersistentHubBucketTest {
+    private static final String PROJECT_URI = "http://hub-server.com/api/projects/1";
+    private static final String PROJECT_JSON = "{\"name\":\"persisted\"}";
+
+    private final Gson gson = HubServicesFactory.createDefaultGson();
+
+    private ProjectView createProjectView() {
+        final ProjectView projectView = gson.fromJson(PROJECT_JSON, ProjectView.class);
+        projectView.json = PROJECT_JSON;
+        return projectView;
+    }
+
+    @Test
+    public void testRestoredByTheNextBucket() throws Exception {
+        final File storeDirectory = Files.createTempDirectory(null).toFile();
+        try {
+            new PersistentHubBucket(storeDirectory, 60000, gson).addValid(PROJECT_URI, createProjectView());
+
+            final PersistentHubBucket nextBucket = new PersistentHubBucket(storeDirectory, 60000, gson);
+            assertFalse(nextBucket.contains(PROJECT_URI));
+            assertTrue(nextBucket.restore(new UriSingleResponse<>(PROJECT_URI, ProjectView.class)));
+            final ProjectView restored = nextBucket.get(PROJECT_URI, ProjectView.class);
+            assertEquals("persisted", restored.name);
+            assertEquals(PROJECT_JSON, restored.json);
+        } finally {
+            FileUtils.deleteQuietly(storeDirectory);
+        }
+    }
+
+    @Test
+    public void testExpiredResponsesAreNotRestored() throws Exception {
+        final File storeDirectory = Files.createTempDirectory(null).toFile();
+        try {
+            new PersistentHubBucket(storeDirectory, 0, gson).addValid(PROJECT_URI, createProjectView());
+
+            final PersistentHubBucket nextBucket = new PersistentHubBucket(storeDirectory, 0, gson);
+            assertFalse(nextBucket.restore(new UriSingleResponse<>(PROJECT_URI, ProjectView.class)));
+
+            nextBucket.purgeExpired();
+            assertEquals(0, storeDirectory.listFiles().length);
+        } finally {
+            FileUtils.deleteQuietly(storeDirectory);
+        }
+    }
+
+}
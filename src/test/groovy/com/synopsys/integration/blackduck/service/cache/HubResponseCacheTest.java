@@ -0,0 +1,152 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.service.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import com.synopsys.integration.blackduck.rest.BlackDuckRestConnection;
+import com.synopsys.integration.blackduck.service.HubService;
+import com.synopsys.integration.blackduck.service.model.RequestFactory;
+import com.synopsys.integration.log.BufferedIntLogger;
+import com.synopsys.integration.rest.connection.RestConnection;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.request.Response;
+
+public class HubResponseCacheTest {
+    private RestConnection createRestConnection(final String etag) throws Exception {
+        final RestConnection restConnection = Mockito.mock(RestConnection.class);
+        Mockito.when(restConnection.executeRequest(Mockito.any(Request.class))).thenAnswer(invocation -> {
+            final Request request = invocation.getArgument(0);
+            if (request.getAdditionalHeaders() != null && etag.equals(request.getAdditionalHeaders().get(HubResponseCache.IF_NONE_MATCH_HEADER))) {
+                throw new IntegrationRestException(HubResponseCache.NOT_MODIFIED_304, "Not Modified", "", "Not Modified");
+            }
+            final Response response = Mockito.mock(Response.class);
+            Mockito.when(response.getContentString()).thenReturn("{\"uri\":\"" + request.getUri() + "\"}");
+            Mockito.when(response.getHeaderValue(HubResponseCache.ETAG_HEADER)).thenReturn(etag);
+            return response;
+        });
+        return restConnection;
+    }
+
+    @Test
+    public void testHitWithinTimeToLive() throws Exception {
+        final RestConnection restConnection = createRestConnection("\"v1\"");
+        final HubResponseCache hubResponseCache = new HubResponseCache(restConnection, 10, 10000, 60000);
+
+        final String first = hubResponseCache.getJson(RequestFactory.createCommonGetRequest("http://hub-server.com/api/licenses/1"));
+        final String second = hubResponseCache.getJson(RequestFactory.createCommonGetRequest("http://hub-server.com/api/licenses/1"));
+
+        assertEquals(first, second);
+        Mockito.verify(restConnection, Mockito.times(1)).executeRequest(Mockito.any(Request.class));
+        final HubResponseCacheStatistics statistics = hubResponseCache.getStatistics();
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(1, statistics.getEntryCount());
+    }
+
+    @Test
+    public void testRevalidatesExpiredEntryWithETag() throws Exception {
+        final RestConnection restConnection = createRestConnection("\"v1\"");
+        final HubResponseCache hubResponseCache = new HubResponseCache(restConnection, 10, 10000, 0);
+
+        final String first = hubResponseCache.getJson(RequestFactory.createCommonGetRequest("http://hub-server.com/api/licenses/1"));
+        final String second = hubResponseCache.getJson(RequestFactory.createCommonGetRequest("http://hub-server.com/api/licenses/1"));
+
+        assertEquals(first, second);
+        final HubResponseCacheStatistics statistics = hubResponseCache.getStatistics();
+        assertEquals(0, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(1, statistics.getRevalidatedCount());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() throws Exception {
+        final RestConnection restConnection = createRestConnection("\"v1\"");
+        final HubResponseCache hubResponseCache = new HubResponseCache(restConnection, 2, 10000, 60000);
+
+        hubResponseCache.getJson(RequestFactory.createCommonGetRequest("http://hub-server.com/api/licenses/1"));
+        hubResponseCache.getJson(RequestFactory.createCommonGetRequest("http://hub-server.com/api/licenses/2"));
+        hubResponseCache.getJson(RequestFactory.createCommonGetRequest("http://hub-server.com/api/licenses/1"));
+        hubResponseCache.getJson(RequestFactory.createCommonGetRequest("http://hub-server.com/api/licenses/3"));
+        hubResponseCache.getJson(RequestFactory.createCommonGetRequest("http://hub-server.com/api/licenses/1"));
+
+        final HubResponseCacheStatistics statistics = hubResponseCache.getStatistics();
+        assertEquals(2, statistics.getEntryCount());
+        assertEquals(1, statistics.getEvictionCount());
+        assertEquals(2, statistics.getHitCount());
+        assertEquals(3, statistics.getMissCount());
+    }
+
+    @Test
+    public void testChangedResourceIsReadFromTheConditionalResponse() throws Exception {
+        final AtomicInteger version = new AtomicInteger(0);
+        final RestConnection restConnection = Mockito.mock(RestConnection.class);
+        Mockito.when(restConnection.executeRequest(Mockito.any(Request.class))).thenAnswer(invocation -> {
+            final int currentVersion = version.incrementAndGet();
+            final Response response = Mockito.mock(Response.class);
+            Mockito.when(response.getStatusCode()).thenReturn(200);
+            Mockito.when(response.getContentString()).thenReturn("{\"version\":" + currentVersion + "}");
+            Mockito.when(response.getHeaderValue(HubResponseCache.ETAG_HEADER)).thenReturn("\"v" + currentVersion + "\"");
+            return response;
+        });
+        final HubResponseCache hubResponseCache = new HubResponseCache(restConnection, 10, 10000, 0);
+
+        hubResponseCache.getJson(RequestFactory.createCommonGetRequest("http://hub-server.com/api/licenses/1"));
+        final String changed = hubResponseCache.getJson(RequestFactory.createCommonGetRequest("http://hub-server.com/api/licenses/1"));
+
+        assertEquals("{\"version\":2}", changed);
+        Mockito.verify(restConnection, Mockito.times(2)).executeRequest(Mockito.any(Request.class));
+        assertEquals(2, hubResponseCache.getStatistics().getMissCount());
+    }
+
+    @Test
+    public void testWritesThroughHubServiceInvalidate() throws Exception {
+        final BlackDuckRestConnection restConnection = Mockito.mock(BlackDuckRestConnection.class);
+        Mockito.when(restConnection.getBaseUrl()).thenReturn(new URL("http://hub-server.com"));
+        Mockito.when(restConnection.executeRequest(Mockito.any(Request.class))).thenAnswer(invocation -> {
+            final Response response = Mockito.mock(Response.class);
+            Mockito.when(response.getContentString()).thenReturn("{}");
+            return response;
+        });
+        final HubResponseCache hubResponseCache = new HubResponseCache(restConnection, 10, 10000, 60000);
+        final HubService hubService = new HubService(new BufferedIntLogger(), restConnection, new Gson(), new JsonParser(), hubResponseCache);
+
+        final String uri = "http://hub-server.com/api/projects/1";
+        hubResponseCache.getJson(RequestFactory.createCommonGetRequest(uri));
+        assertEquals(1, hubResponseCache.getStatistics().getEntryCount());
+
+        hubService.delete(uri);
+        assertEquals(0, hubResponseCache.getStatistics().getEntryCount());
+    }
+
+}
@@ -0,0 +1,70 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.service.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.blackduck.exception.HubIntegrationException;
+
+public class PagedResponseJsonTest {
+    @Test
+    public void testScanFindsTotalCountAndItems() throws Exception {
+        final String json = "{ \"totalCount\" : 42, \"ignored\":{\"a\":[1,2,\"]}\"]}, \"items\":[ {\"name\":\"a\\\"b}\",\"type\":\"T\\u0041\"}, {\"n\":[{}]} ], \"_meta\":{}}";
+        final PagedResponseJson pagedResponseJson = PagedResponseJson.scan(json);
+
+        assertEquals(42, pagedResponseJson.getTotalCount());
+        assertEquals(2, pagedResponseJson.getItemCount());
+        assertEquals("{\"name\":\"a\\\"b}\",\"type\":\"T\\u0041\"}", pagedResponseJson.getItemJson(0));
+        assertEquals("{\"n\":[{}]}", pagedResponseJson.getItemJson(1));
+        assertEquals(Optional.of("TA"), pagedResponseJson.getItemStringField(0, "type"));
+        assertEquals(Optional.empty(), pagedResponseJson.getItemStringField(1, "type"));
+    }
+
+    @Test
+    public void testEmptyItems() throws Exception {
+        final PagedResponseJson pagedResponseJson = PagedResponseJson.scan("{\"totalCount\":0,\"items\":[]}");
+        assertEquals(0, pagedResponseJson.getTotalCount());
+        assertEquals(0, pagedResponseJson.getItemCount());
+    }
+
+    @Test
+    public void testMissingTotalCount() {
+        assertThrows(HubIntegrationException.class, () -> PagedResponseJson.scan("{\"items\":[{\"a\":1}]}"));
+    }
+
+    @Test
+    public void testTruncatedJson() {
+        try {
+            PagedResponseJson.scan("{\"totalCount\":1,\"items\":[{\"a\":1}");
+            fail("Should have thrown");
+        } catch (final HubIntegrationException e) {
+            assertTrue(e.getMessage().contains("ended unexpectedly"));
+        }
+    }
+
+}
@@ -2,7 +2,10 @@ package com.synopsys.integration.blackduck.service.model;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Optional;
 import java.util.Set;
 
@@ -27,4 +30,23 @@ public class RequestFactoryTest {
         assertTrue(filterParameters.contains("KEY1:value2"));
     }
 
+    @Test
+    public void testRequestBuilderCopy() {
+        final Request.Builder requestBuilder = RequestFactory.createCommonPostRequestBuilder("{\"name\":\"value\"}").uri("http://www.blackducksoftware.com").mimeType("application/json")
+                .bodyEncoding(StandardCharsets.UTF_8).addQueryParameter("q", "name:value");
+        requestBuilder.additionalHeaders(new HashMap<>(Collections.singletonMap("Accept", "application/json")));
+        final Request request = requestBuilder.build();
+
+        final Request copiedRequest = RequestFactory.createRequestBuilderCopy(request).addQueryParameter("q", "other:value").build();
+
+        assertEquals(request.getUri(), copiedRequest.getUri());
+        assertEquals(request.getMethod(), copiedRequest.getMethod());
+        assertEquals(request.getMimeType(), copiedRequest.getMimeType());
+        assertEquals(request.getBodyEncoding(), copiedRequest.getBodyEncoding());
+        assertSame(request.getBodyContent(), copiedRequest.getBodyContent());
+        assertEquals(request.getAdditionalHeaders(), copiedRequest.getAdditionalHeaders());
+        assertEquals(1, request.getQueryParameters().get("q").size());
+        assertEquals(2, copiedRequest.getQueryParameters().get("q").size());
+    }
+
 }
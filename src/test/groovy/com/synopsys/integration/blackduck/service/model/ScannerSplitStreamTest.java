@@ -0,0 +1,77 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.service.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.log.IntLogger;
+
+public class ScannerSplitStreamTest {
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+    @Test
+    public void testLogLevelRoutingAcrossChunks() throws IOException {
+        final IntLogger logger = mock(IntLogger.class);
+        final ByteArrayOutputStream outputFile = new ByteArrayOutputStream();
+        final ScannerSplitStream scannerSplitStream = new ScannerSplitStream(logger, outputFile);
+
+        final byte[] cliOutput = "INFO: starting\r\nDEBUG: hidden\nERROR: failed\nat some.Class\rWARN: careful\nFinished in 12 seconds".getBytes(StandardCharsets.UTF_8);
+        scannerSplitStream.write(cliOutput, 0, 20);
+        for (int i = 20; i < 30; i++) {
+            scannerSplitStream.write(cliOutput[i]);
+        }
+        scannerSplitStream.write(cliOutput, 30, cliOutput.length - 30);
+        scannerSplitStream.flush();
+
+        assertArrayEquals(cliOutput, outputFile.toByteArray());
+        verify(logger).info("INFO: starting");
+        verify(logger).error("ERROR: failed" + LINE_SEPARATOR + "at some.Class");
+        verify(logger).warn("WARN: careful");
+        verify(logger).info("Finished in 12 seconds");
+        verify(logger, never()).info(contains("DEBUG"));
+        assertTrue(scannerSplitStream.hasOutput());
+        assertEquals("INFO: starting" + LINE_SEPARATOR + "ERROR: failed" + LINE_SEPARATOR + "at some.Class" + LINE_SEPARATOR + "WARN: careful" + LINE_SEPARATOR + "Finished in 12 seconds" + LINE_SEPARATOR,
+                scannerSplitStream.getOutput());
+    }
+
+    @Test
+    public void testOutputKeepsMostRecentLines() throws IOException {
+        final IntLogger logger = mock(IntLogger.class);
+        final ScannerSplitStream scannerSplitStream = new ScannerSplitStream(logger, new ByteArrayOutputStream(), 2);
+
+        scannerSplitStream.write("INFO: one\nINFO: two\nINFO: three\n".getBytes(StandardCharsets.UTF_8));
+        scannerSplitStream.flush();
+
+        assertEquals("INFO: two" + LINE_SEPARATOR + "INFO: three" + LINE_SEPARATOR, scannerSplitStream.getOutput());
+    }
+
+}
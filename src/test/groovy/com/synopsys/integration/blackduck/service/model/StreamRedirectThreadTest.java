@@ -0,0 +1,48 @@
+/**
+ * hub-common
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.synopsys.integration.blackduck.service.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class StreamRedirectThreadTest {
+    @Test
+    public void testRedirectCopiesEverything() throws Exception {
+        final byte[] content = new byte[StreamRedirectThread.BUFFER_SIZE * 3 + 17];
+        new Random(42).nextBytes(content);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        final long copied = StreamRedirectThread.redirect(new ByteArrayInputStream(content), out).get(10, TimeUnit.SECONDS);
+
+        assertEquals(content.length, copied);
+        assertArrayEquals(content, out.toByteArray());
+    }
+
+}